@@ -0,0 +1,70 @@
+package com.epam.rd.autocode.spring.project.benchmark;
+
+import com.epam.rd.autocode.spring.project.BookStoreServiceSolutionApplication;
+import com.epam.rd.autocode.spring.project.cache.CatalogSnapshot;
+import com.epam.rd.autocode.spring.project.cache.CatalogVersion;
+import com.epam.rd.autocode.spring.project.cache.CountCache;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.search.BookFacetIndex;
+import com.epam.rd.autocode.spring.project.search.BookSearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the application without a web server against the dev profile's in-memory H2 database,
+ * optionally topping the catalog up with generated books.
+ */
+final class BookStoreContext {
+
+    private BookStoreContext() {
+    }
+
+    /**
+     * @param overrides extra {@code name=value} properties; they take precedence over the profile files
+     */
+    static ConfigurableApplicationContext start(String... overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", "dev");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.epam.rd.autocode.spring.project", "WARN");
+        properties.put("logging.level.org.springframework.web", "WARN");
+        for (String override : overrides) {
+            int eq = override.indexOf('=');
+            properties.put(override.substring(0, eq), override.substring(eq + 1));
+        }
+
+        // Command-line arguments, unlike builder defaults, win over application-dev.properties
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(BookStoreServiceSolutionApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    static void addBooks(ConfigurableApplicationContext context, int count) {
+        List<Object[]> rows = SearchBenchmark.generate(count).stream()
+                .map(book -> new Object[]{book.getName(), book.getGenre(), book.getAuthor()})
+                .toList();
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO books (id, name, genre, age_group, price, "
+                + "publication_year, author, number_of_pages, characteristics, description, language) "
+                + "VALUES (NEXT VALUE FOR books_seq, ?, ?, 'ADULT', 19.99, DATE '2020-01-01', ?, 300, 'Generated', 'Generated', 'ENGLISH')", rows);
+
+        // the rows bypass BookServiceImpl, so refresh everything it would refresh after a commit
+        List<Book> books = context.getBean(BookRepository.class).findAll();
+        context.getBean(BookSearchIndex.class).rebuild(books);
+        context.getBean(BookFacetIndex.class).rebuild(books);
+        context.getBean(CountCache.class).invalidate(Book.class);
+        context.getBean(CatalogSnapshot.class).load();
+        context.getBean(CatalogVersion.class).bump();
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.rd.autocode.spring.project.benchmark;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.service.impl.CartServiceImpl;
+import com.epam.rd.autocode.spring.project.session.Cart;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart summary rendered on every cart page view: {@code CartServiceImpl.getTotalPrice} and
+ * {@code getCartDetails} over a session cart of {@code items} distinct books.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private CartServiceImpl cartService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Cart cart = new Cart();
+        for (int i = 0; i < items; i++) {
+            String name = "Book " + i;
+            BookDTO book = new BookDTO();
+            book.setName(name);
+            book.setPrice(new BigDecimal("19.99").add(BigDecimal.valueOf(i)));
+            cart.getBooksCache().put(name, book);
+            cart.getItems().put(name, 1 + i % 3);
+        }
+        cartService = new CartServiceImpl(cart, null);
+    }
+
+    @Benchmark
+    public BigDecimal getTotalPrice() {
+        return cartService.getTotalPrice();
+    }
+
+    @Benchmark
+    public Map<BookDTO, Integer> getCartDetails() {
+        return cartService.getCartDetails();
+    }
+}
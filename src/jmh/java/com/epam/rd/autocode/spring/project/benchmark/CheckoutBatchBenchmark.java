@@ -0,0 +1,82 @@
+package com.epam.rd.autocode.spring.project.benchmark;
+
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout cost by number of order lines. Prepared statements per checkout are printed at the end
+ * of each trial, taken from Hibernate statistics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckoutBatchBenchmark {
+    private static final String CLIENT = "client1@example.com";
+
+    @Param({"1", "10", "40"})
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+    private OrderDTO order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BookStoreContext.start("spring.jpa.properties.hibernate.generate_statistics=true");
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        List<Book> books = context.getBean(BookRepository.class).findAll();
+        List<BookItemDTO> items = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            Book book = books.get(i % books.size());
+            items.add(new BookItemDTO(book.getName(), 1));
+            total = total.add(book.getPrice());
+        }
+        order = new OrderDTO();
+        order.setClientEmail(CLIENT);
+        order.setPrice(total);
+        order.setBookItems(items);
+        statistics.clear();
+    }
+
+    @Setup(Level.Iteration)
+    public void refillBalance() {
+        jdbcTemplate.update("UPDATE clients SET balance = 1000000000 WHERE email = ?", CLIENT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // The balance refills above go through JdbcTemplate and are not counted
+        long checkouts = statistics.getTransactionCount();
+        System.out.printf("%n%d lines: %.1f statements per checkout%n", lines,
+                (double) statistics.getPrepareStatementCount() / checkouts);
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDTO addOrder() {
+        return orderService.addOrder(order);
+    }
+}
@@ -0,0 +1,101 @@
+package com.epam.rd.autocode.spring.project.benchmark;
+
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.service.ClientService;
+import com.epam.rd.autocode.spring.project.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Balance updates with several threads on one hot account versus one account per thread:
+ * checkouts (conditional debit) and top-ups (credit).
+ * Change the thread count with {@code -t}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class CheckoutContentionBenchmark {
+    private static final String HOT_CLIENT = "client1@example.com";
+    private static final String BALANCE = "1000000000";
+
+    @State(Scope.Benchmark)
+    public static class Shop {
+        ConfigurableApplicationContext context;
+        OrderService orderService;
+        ClientService clientService;
+        JdbcTemplate jdbcTemplate;
+        final AtomicInteger accounts = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BookStoreContext.start("spring.datasource.url=jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+            orderService = context.getBean(OrderService.class);
+            clientService = context.getBean(ClientService.class);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+        }
+
+        @Setup(Level.Iteration)
+        public void refill() {
+            jdbcTemplate.update("UPDATE clients SET balance = " + BALANCE);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Buyer {
+        OrderDTO hotOrder;
+        OrderDTO ownOrder;
+        String email;
+
+        @Setup(Level.Trial)
+        public void setUp(Shop shop) {
+            email = "buyer" + shop.accounts.incrementAndGet() + "@bench.com";
+            shop.jdbcTemplate.update("INSERT INTO clients (id, balance, email, name, password, is_blocked) "
+                    + "VALUES (NEXT VALUE FOR clients_seq, " + BALANCE + ", ?, 'Buyer', 'hash', false)", email);
+            hotOrder = order(HOT_CLIENT);
+            ownOrder = order(email);
+        }
+    }
+
+    @Benchmark
+    public OrderDTO hotAccount(Shop shop, Buyer buyer) {
+        return shop.orderService.addOrder(buyer.hotOrder);
+    }
+
+    @Benchmark
+    public OrderDTO separateAccounts(Shop shop, Buyer buyer) {
+        return shop.orderService.addOrder(buyer.ownOrder);
+    }
+
+    @Benchmark
+    public void hotTopUp(Shop shop) {
+        shop.clientService.topUpBalance(HOT_CLIENT, BigDecimal.ONE);
+    }
+
+    @Benchmark
+    public void separateTopUps(Shop shop, Buyer buyer) {
+        shop.clientService.topUpBalance(buyer.email, BigDecimal.ONE);
+    }
+
+    private static OrderDTO order(String email) {
+        OrderDTO order = new OrderDTO();
+        order.setClientEmail(email);
+        order.setPrice(new BigDecimal("24.99"));
+        order.setBookItems(List.of(new BookItemDTO("The Hidden Treasure", 1)));
+        return order;
+    }
+}
@@ -0,0 +1,126 @@
+package com.epam.rd.autocode.spring.project.benchmark;
+
+import com.epam.rd.autocode.spring.project.converter.PasswordConverter;
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.ClientDTO;
+import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.mapper.BookMapper;
+import com.epam.rd.autocode.spring.project.mapper.ClientMapper;
+import com.epam.rd.autocode.spring.project.mapper.OrderMapper;
+import com.epam.rd.autocode.spring.project.model.*;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import org.modelmapper.Converter;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion: the reflective {@link ModelMapper}, configured as the former
+ * {@code BaseConfig} bean, versus the hand-written mappers. Passwords go through a no-op
+ * encoder so the numbers reflect mapping only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private ModelMapper modelMapper;
+    private BookMapper bookMapper;
+    private ClientMapper clientMapper;
+    private OrderMapper orderMapper;
+
+    private Book book;
+    private List<Book> page;
+    private Client client;
+    private Order order;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("deprecation")
+    public void setUp() {
+        PasswordConverter passwordConverter = new PasswordConverter(NoOpPasswordEncoder.getInstance());
+        Converter<String, String> password = context -> passwordConverter.convert(context.getSource());
+
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setSkipNullEnabled(true);
+        modelMapper.typeMap(ClientDTO.class, Client.class)
+                .addMappings(m -> m.using(password).map(ClientDTO::getPassword, Client::setPassword));
+        modelMapper.typeMap(EmployeeDTO.class, Employee.class)
+                .addMappings(m -> m.using(password).map(EmployeeDTO::getPassword, Employee::setPassword));
+
+        bookMapper = new BookMapper();
+        clientMapper = new ClientMapper(passwordConverter);
+        orderMapper = new OrderMapper();
+
+        page = new ArrayList<>();
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            page.add(new Book(i, "Book " + i, "Fantasy", AgeGroup.ADULT, new BigDecimal("19.99"),
+                    LocalDate.of(2020, 1, 1), "Author " + i, 320, "Hardcover", "Description " + i, Language.ENGLISH));
+        }
+        book = page.get(0);
+
+        client = new Client(1L, "client@example.com", "secret", "Client", new BigDecimal("100.00"));
+
+        order = new Order();
+        order.setId(1L);
+        order.setClient(client);
+        order.setEmployee(new Employee(2L, "employee@example.com", "secret", "Employee", LocalDate.of(1990, 1, 1), "+380000000000"));
+        order.setOrderDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        order.setPrice(new BigDecimal("59.97"));
+        for (int i = 0; i < 3; i++) {
+            order.getBookItems().add(new BookItem((long) i, 1, page.get(i), order));
+        }
+    }
+
+    @Benchmark
+    public BookDTO bookModelMapper() {
+        return modelMapper.map(book, BookDTO.class);
+    }
+
+    @Benchmark
+    public BookDTO bookMapper() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public List<BookDTO> bookPageModelMapper() {
+        return page.stream().map(b -> modelMapper.map(b, BookDTO.class)).toList();
+    }
+
+    @Benchmark
+    public List<BookDTO> bookPageMapper() {
+        return page.stream().map(bookMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public ClientDTO clientModelMapper() {
+        return modelMapper.map(client, ClientDTO.class);
+    }
+
+    @Benchmark
+    public ClientDTO clientMapper() {
+        return clientMapper.toDto(client);
+    }
+
+    @Benchmark
+    public OrderDTO orderModelMapper() {
+        return modelMapper.map(order, OrderDTO.class);
+    }
+
+    @Benchmark
+    public OrderDTO orderMapper() {
+        return orderMapper.toDto(order);
+    }
+}
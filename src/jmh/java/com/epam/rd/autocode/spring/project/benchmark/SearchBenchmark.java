@@ -0,0 +1,186 @@
+package com.epam.rd.autocode.spring.project.benchmark;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.search.BookSearchIndex;
+import com.epam.rd.autocode.spring.project.search.impl.InvertedBookSearchIndex;
+import com.epam.rd.autocode.spring.project.search.impl.TrigramBookSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog keyword search: the {@code LOWER(..) LIKE '%kw%'} page + count queries issued by
+ * {@code BookRepository.findAllByKeyword} versus the in-memory indexes followed by an id page query,
+ * mirroring {@code BookServiceImpl}: non-selective keywords are paged by walking the id order
+ * ({@code BookSortOrder}) and loading only the page's ids. {@code sortOrderPage} times that paging step
+ * alone for precomputed matches; it stops after the first page, so it does not grow with the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SearchBenchmark {
+    private static final int PAGE_SIZE = 6;
+    private static final String[] WORDS = {
+            "hidden", "treasure", "echoes", "eternity", "whispers", "shadows", "silent", "river",
+            "crimson", "garden", "forgotten", "kingdom", "winter", "light", "broken", "empire",
+            "midnight", "voyage", "golden", "storm", "secret", "island", "last", "letter"
+    };
+    private static final String[] FIRST_NAMES = {"Emily", "Daniel", "Sophia", "Liam", "Olivia", "Noah", "Ava", "Lucas"};
+    private static final String[] LAST_NAMES = {"White", "Black", "Green", "Stone", "Reed", "Hart", "Wood", "Frost"};
+    private static final String[] GENRES = {"Adventure", "Fantasy", "Mystery", "Romance", "Science", "History"};
+
+    private static final String LIKE_WHERE = " FROM books WHERE LOWER(name) LIKE ? OR LOWER(author) LIKE ? OR LOWER(genre) LIKE ?";
+
+    @Param({"10000", "100000", "1000000"})
+    public int books;
+
+    @Param({"shad", "4242", "zz"})
+    public String keyword;
+
+    private Connection connection;
+    private PreparedStatement likePage;
+    private PreparedStatement likeCount;
+    private PreparedStatement idPage;
+    private BookSearchIndex trigramIndex;
+    private BookSearchIndex tokenIndex;
+    private long[] idOrder;
+    private Set<Long> trigramMatches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        List<Book> catalog = generate(books);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:search_" + books + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, name VARCHAR(255) UNIQUE, author VARCHAR(255), genre VARCHAR(255))");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO books VALUES (?, ?, ?, ?)")) {
+            for (Book book : catalog) {
+                insert.setLong(1, book.getId());
+                insert.setString(2, book.getName());
+                insert.setString(3, book.getAuthor());
+                insert.setString(4, book.getGenre());
+                insert.addBatch();
+                if (book.getId() % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        likePage = connection.prepareStatement("SELECT id, name, author, genre" + LIKE_WHERE
+                + " ORDER BY id OFFSET 0 ROWS FETCH FIRST " + PAGE_SIZE + " ROWS ONLY");
+        likeCount = connection.prepareStatement("SELECT COUNT(*)" + LIKE_WHERE);
+        idPage = connection.prepareStatement("SELECT id, name, author, genre FROM books WHERE id = ANY(?)"
+                + " ORDER BY id OFFSET 0 ROWS FETCH FIRST " + PAGE_SIZE + " ROWS ONLY");
+
+        trigramIndex = new TrigramBookSearchIndex(null);
+        trigramIndex.rebuild(catalog);
+        tokenIndex = new InvertedBookSearchIndex(null);
+        tokenIndex.rebuild(catalog);
+
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT id FROM books ORDER BY id")) {
+            List<Long> ids = new ArrayList<>(books);
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+            idOrder = ids.stream().mapToLong(Long::longValue).toArray();
+        }
+        trigramMatches = trigramIndex.search(keyword);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeQuery(Blackhole bh) throws SQLException {
+        runLike(bh);
+    }
+
+    private void runLike(Blackhole bh) throws SQLException {
+        String pattern = "%" + keyword.toLowerCase() + "%";
+        for (PreparedStatement statement : List.of(likePage, likeCount)) {
+            statement.setString(1, pattern);
+            statement.setString(2, pattern);
+            statement.setString(3, pattern);
+            consume(statement, bh);
+        }
+    }
+
+    @Benchmark
+    public void trigramIndex(Blackhole bh) throws SQLException {
+        pageByIds(trigramIndex.search(keyword), bh);
+    }
+
+    @Benchmark
+    public void tokenIndex(Blackhole bh) throws SQLException {
+        pageByIds(tokenIndex.search(keyword), bh);
+    }
+
+    @Benchmark
+    public void sortOrderPage(Blackhole bh) throws SQLException {
+        pageByIds(trigramMatches, bh);
+    }
+
+    private void pageByIds(Set<Long> ids, Blackhole bh) throws SQLException {
+        bh.consume(ids.size());
+        if (ids.isEmpty()) {
+            return;
+        }
+        Object[] page = ids.size() > BookSearchIndex.MAX_SELECTIVE_MATCHES ? firstPage(ids) : ids.toArray();
+        idPage.setArray(1, connection.createArrayOf("BIGINT", page));
+        consume(idPage, bh);
+    }
+
+    private Object[] firstPage(Set<Long> ids) {
+        List<Long> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < idOrder.length && page.size() < PAGE_SIZE; i++) {
+            if (ids.contains(idOrder[i])) {
+                page.add(idOrder[i]);
+            }
+        }
+        return page.toArray();
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole bh) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getLong(1));
+            }
+        }
+    }
+
+    static List<Book> generate(int count) {
+        Random random = new Random(42);
+        List<Book> catalog = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Book book = new Book();
+            book.setId((long) i);
+            book.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " #" + i);
+            book.setAuthor(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            book.setGenre(GENRES[random.nextInt(GENRES.length)]);
+            catalog.add(book);
+        }
+        return catalog;
+    }
+}
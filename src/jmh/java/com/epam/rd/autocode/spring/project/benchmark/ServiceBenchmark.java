@@ -0,0 +1,95 @@
+package com.epam.rd.autocode.spring.project.benchmark;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.security.CustomUserDetailsServiceImpl;
+import com.epam.rd.autocode.spring.project.security.SecurityUser;
+import com.epam.rd.autocode.spring.project.service.BookService;
+import com.epam.rd.autocode.spring.project.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-layer hot paths running inside the full Spring context on H2: catalog pages with and
+ * without a keyword, checkout and the login lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final String CLIENT = "client1@example.com";
+    private static final String EMPLOYEE = "john.doe@email.com";
+
+    @Param({"10000"})
+    public int books;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private OrderService orderService;
+    private CustomUserDetailsServiceImpl userDetailsService;
+    private JdbcTemplate jdbcTemplate;
+    private OrderDTO order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BookStoreContext.start();
+        BookStoreContext.addBooks(context, books);
+
+        bookService = context.getBean(BookService.class);
+        orderService = context.getBean(OrderService.class);
+        userDetailsService = context.getBean(CustomUserDetailsServiceImpl.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        order = new OrderDTO();
+        order.setClientEmail(CLIENT);
+        order.setPrice(new BigDecimal("41.49"));
+        order.setBookItems(List.of(
+                new BookItemDTO("The Hidden Treasure", 1),
+                new BookItemDTO("Echoes of Eternity", 1)));
+    }
+
+    @Setup(Level.Iteration)
+    public void refillBalance() {
+        jdbcTemplate.update("UPDATE clients SET balance = 1000000000 WHERE email = ?", CLIENT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<BookDTO> getAllBooks() {
+        return bookService.getAllBooks(0, 6, "name", "asc", null);
+    }
+
+    @Benchmark
+    public Page<BookDTO> getAllBooksWithKeyword() {
+        return bookService.getAllBooks(0, 6, "name", "asc", "shad");
+    }
+
+    @Benchmark
+    public OrderDTO addOrder() {
+        return orderService.addOrder(order);
+    }
+
+    @Benchmark
+    public SecurityUser loadClient() {
+        return userDetailsService.loadUserByUsername(CLIENT);
+    }
+
+    @Benchmark
+    public SecurityUser loadEmployee() {
+        return userDetailsService.loadUserByUsername(EMPLOYEE);
+    }
+}
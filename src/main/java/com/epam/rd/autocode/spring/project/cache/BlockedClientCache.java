@@ -0,0 +1,46 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.repo.ClientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emails of blocked clients, checked on every authenticated client request.
+ * Loaded once at startup, before the server accepts logins;
+ * {@code ClientServiceImpl} keeps it current after each commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlockedClientCache implements SmartInitializingSingleton {
+    private final ClientRepository clientRepository;
+    private final Set<String> blocked = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load(clientRepository.findBlockedEmails());
+    }
+
+    public void load(Collection<String> emails) {
+        blocked.addAll(emails);
+        log.info("Blocked client cache loaded: {} clients", blocked.size());
+    }
+
+    public boolean isBlocked(String email) {
+        return blocked.contains(email);
+    }
+
+    public void block(String email) {
+        blocked.add(email);
+    }
+
+    public void unblock(String email) {
+        blocked.remove(email);
+    }
+}
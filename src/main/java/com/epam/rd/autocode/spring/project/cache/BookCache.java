@@ -0,0 +1,68 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Mapped book details by name, for the detail page and cart adds.
+ * Cached DTOs are shared between requests and must not be modified; copy one before changing it.
+ * {@code BookServiceImpl} invalidates a name after each committed write. A load racing with the
+ * invalidation is discarded, so the TTL only bounds drift from writes that bypass the service.
+ * Hits, misses and evictions are logged every {@code bookstore.book-cache.stats-interval}.
+ */
+@Slf4j
+@Component
+public class BookCache {
+    private final Cache<String, BookDTO> books;
+    private final AtomicReference<CacheStats> reported = new AtomicReference<>(CacheStats.empty());
+
+    public BookCache(@Value("${bookstore.book-cache.max-size:1000}") long maxSize,
+                     @Value("${bookstore.book-cache.ttl:PT10M}") Duration ttl) {
+        this.books = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public BookDTO get(String name, Function<String, BookDTO> loader) {
+        return books.get(name, loader);
+    }
+
+    public void invalidate(String name) {
+        books.invalidate(name);
+        log.debug("Book cache invalidated for '{}'", name);
+    }
+
+    public CacheStats stats() {
+        return books.stats();
+    }
+
+    /**
+     * @return the counters since the previous report, which are the ones logged; idle intervals are not logged
+     */
+    @Scheduled(fixedRateString = "${bookstore.book-cache.stats-interval:PT5M}",
+            initialDelayString = "${bookstore.book-cache.stats-interval:PT5M}")
+    public CacheStats logStats() {
+        CacheStats total = books.stats();
+        CacheStats interval = total.minus(reported.getAndSet(total));
+        // an idle interval has nothing to report, and Caffeine counts its hit rate as 100%
+        if (interval.requestCount() > 0 || interval.evictionCount() > 0) {
+            log.info("Book cache: {} entries, {} hits, {} misses, hit rate {}, {} evictions",
+                    books.estimatedSize(), interval.hitCount(), interval.missCount(),
+                    String.format(Locale.ROOT, "%.1f%%", interval.hitRate() * 100), interval.evictionCount());
+        }
+        return interval;
+    }
+}
@@ -0,0 +1,106 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Rendered catalog listings (search, facets, sort links, book cards and paging), keyed by query, locale,
+ * roles and catalog version. A catalog write moves every later request to a new key, so stale bodies are
+ * never served and simply age out. Nothing per user is cached: {@code books/list} renders the navbar,
+ * flash alerts and the forms carrying the CSRF token around the cached body on every request.
+ */
+@Slf4j
+@Component
+public class CatalogPageCache {
+    private static final String TEMPLATE = "books/catalog";
+    private static final Set<String> FRAGMENT = Set.of("body");
+
+    private final ITemplateEngine templateEngine;
+    private final CatalogVersion catalogVersion;
+    private final boolean enabled;
+    private final Cache<BodyKey, String> bodies;
+
+    public CatalogPageCache(ITemplateEngine templateEngine,
+                            CatalogVersion catalogVersion,
+                            @Value("${bookstore.page-cache.enabled:true}") boolean enabled,
+                            @Value("${bookstore.page-cache.max-pages:500}") long maxPages,
+                            @Value("${bookstore.page-cache.ttl:PT5M}") Duration ttl) {
+        this.templateEngine = templateEngine;
+        this.catalogVersion = catalogVersion;
+        this.enabled = enabled;
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param model builds the listing model; only called when the body is not cached
+     */
+    public String body(HttpServletRequest request, HttpServletResponse response, Supplier<Map<String, Object>> model) {
+        Locale locale = LocaleContextHolder.getLocale();
+        if (!enabled) {
+            return render(request, response, locale, model.get());
+        }
+
+        BodyKey key = new BodyKey(query(request), locale, roles(), catalogVersion.get());
+        String body = bodies.getIfPresent(key);
+        if (body == null) {
+            // rendered outside the cache's compute so a slow render never blocks other keys
+            body = render(request, response, locale, model.get());
+            bodies.put(key, body);
+            log.debug("Catalog body cached: {}", key);
+        }
+        return body;
+    }
+
+    private String render(HttpServletRequest request, HttpServletResponse response,
+                          Locale locale, Map<String, Object> model) {
+        WebContext context = new WebContext(JakartaServletWebApplication.buildApplication(request.getServletContext())
+                .buildExchange(request, response), locale, model);
+        return templateEngine.process(TEMPLATE, FRAGMENT, context);
+    }
+
+    private static String query(HttpServletRequest request) {
+        StringBuilder query = new StringBuilder(request.getRequestURI());
+        new TreeMap<>(request.getParameterMap())
+                .forEach((param, values) -> query.append('|').append(param).append('=').append(Arrays.toString(values)));
+        return query.toString();
+    }
+
+    // role-specific buttons are part of the cards
+    private static Set<String> roles() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return Set.of();
+        }
+        return auth.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private record BodyKey(String query, Locale locale, Set<String> roles, long catalogVersion) {
+    }
+}
@@ -0,0 +1,230 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.mapper.BookMapper;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Whole catalog held in memory as an immutable snapshot, with the ascending order of every sortable
+ * field precomputed as an index array. Pages are sliced straight out of those arrays; writes copy the
+ * arrays, move the one changed book within each order and swap the copy in, so readers never lock or see
+ * a half-applied update, and a write costs array copies rather than a re-sort of the catalog.
+ * Snapshot DTOs are shared between requests and must not be modified.
+ * Active only with {@code bookstore.catalog.source=snapshot}.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshot implements SmartInitializingSingleton {
+    // the snapshot arrays are laid out in id order, so "id" needs no comparator of its own
+    private static final Map<String, Comparator<BookDTO>> SORT_FIELDS = Map.of(
+            "id", (a, b) -> 0,
+            "name", Comparator.comparing(BookDTO::getName),
+            "price", Comparator.comparing(BookDTO::getPrice),
+            "publicationDate", Comparator.comparing(BookDTO::getPublicationDate),
+            "author", Comparator.comparing(BookDTO::getAuthor));
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final boolean enabled;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    public CatalogSnapshot(BookRepository bookRepository,
+                           BookMapper bookMapper,
+                           @Value("${bookstore.catalog.source:db}") String source) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.enabled = "snapshot".equalsIgnoreCase(source);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs before the web server starts, so catalog pages are never served from the database while loading.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        if (enabled) {
+            List<Book> books = bookRepository.findAll();
+            current.set(Snapshot.of(books.stream().collect(
+                    HashMap::new, (byId, book) -> byId.put(book.getId(), bookMapper.toDto(book)), Map::putAll)));
+            log.info("Catalog snapshot loaded: {} books", books.size());
+        }
+    }
+
+    public void put(Book book) {
+        BookDTO dto = bookMapper.toDto(book);
+        update(snapshot -> snapshot.with(book.getId(), dto));
+    }
+
+    public void remove(String name) {
+        update(snapshot -> snapshot.without(name));
+    }
+
+    /**
+     * @param matches ids to keep, or {@code null} for the whole catalog
+     * @return the page, or empty when the snapshot is not loaded or cannot sort as requested
+     */
+    public Optional<Page<BookDTO>> page(Pageable pageable, Set<Long> matches) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null || pageable.getSort().stream().count() != 1) {
+            return Optional.empty();
+        }
+        Sort.Order order = pageable.getSort().iterator().next();
+        int[] ascending = snapshot.orders().get(order.getProperty());
+        if (ascending == null) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.slice(ascending, order.isDescending(), pageable, matches));
+    }
+
+    private void update(UnaryOperator<Snapshot> change) {
+        if (enabled) {
+            current.updateAndGet(snapshot -> snapshot == null ? null : change.apply(snapshot));
+        }
+    }
+
+    /**
+     * Positions index {@code ids} and {@code books}, which are in id order; every order breaks ties by
+     * position, so equal values stay in id order.
+     */
+    private record Snapshot(long[] ids, BookDTO[] books, Map<String, int[]> orders) {
+
+        static Snapshot of(Map<Long, BookDTO> byId) {
+            long[] ids = byId.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            BookDTO[] books = Arrays.stream(ids).mapToObj(byId::get).toArray(BookDTO[]::new);
+            Map<String, int[]> orders = new HashMap<>();
+            SORT_FIELDS.forEach((field, comparator) -> orders.put(field, IntStream.range(0, books.length).boxed()
+                    .sorted((a, b) -> compare(books, comparator, a, b))
+                    .mapToInt(Integer::intValue).toArray()));
+            return new Snapshot(ids, books, Map.copyOf(orders));
+        }
+
+        /**
+         * Replaces the book with the same id, or adds it, moving only that book within each order.
+         */
+        Snapshot with(long id, BookDTO book) {
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                BookDTO[] replaced = books.clone();
+                replaced[position] = book;
+                return new Snapshot(ids, replaced, reorder((field, ascending) ->
+                        insert(without(ascending, position, false), position, replaced, field)));
+            }
+
+            int added = -position - 1;
+            long[] addedIds = new long[ids.length + 1];
+            BookDTO[] addedBooks = new BookDTO[books.length + 1];
+            System.arraycopy(ids, 0, addedIds, 0, added);
+            System.arraycopy(ids, added, addedIds, added + 1, ids.length - added);
+            System.arraycopy(books, 0, addedBooks, 0, added);
+            System.arraycopy(books, added, addedBooks, added + 1, books.length - added);
+            addedIds[added] = id;
+            addedBooks[added] = book;
+            return new Snapshot(addedIds, addedBooks, reorder((field, ascending) -> insert(
+                    IntStream.of(ascending).map(p -> p >= added ? p + 1 : p).toArray(), added, addedBooks, field)));
+        }
+
+        Snapshot without(String name) {
+            int position = IntStream.range(0, books.length)
+                    .filter(p -> books[p].getName().equals(name))
+                    .findFirst().orElse(-1);
+            if (position < 0) {
+                return this;
+            }
+            long[] keptIds = new long[ids.length - 1];
+            BookDTO[] keptBooks = new BookDTO[books.length - 1];
+            System.arraycopy(ids, 0, keptIds, 0, position);
+            System.arraycopy(ids, position + 1, keptIds, position, keptIds.length - position);
+            System.arraycopy(books, 0, keptBooks, 0, position);
+            System.arraycopy(books, position + 1, keptBooks, position, keptBooks.length - position);
+            return new Snapshot(keptIds, keptBooks, reorder((field, ascending) -> without(ascending, position, true)));
+        }
+
+        private Map<String, int[]> reorder(BiFunction<String, int[], int[]> change) {
+            Map<String, int[]> reordered = new HashMap<>();
+            orders.forEach((field, ascending) -> reordered.put(field, change.apply(field, ascending)));
+            return Map.copyOf(reordered);
+        }
+
+        private static int[] without(int[] ascending, int position, boolean renumber) {
+            return IntStream.of(ascending)
+                    .filter(p -> p != position)
+                    .map(p -> renumber && p > position ? p - 1 : p)
+                    .toArray();
+        }
+
+        // binary search for the book's place among the others, which are already in order
+        private static int[] insert(int[] ascending, int position, BookDTO[] books, String field) {
+            Comparator<BookDTO> comparator = SORT_FIELDS.get(field);
+            int low = 0;
+            int high = ascending.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(books, comparator, ascending[mid], position) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int[] inserted = new int[ascending.length + 1];
+            System.arraycopy(ascending, 0, inserted, 0, low);
+            System.arraycopy(ascending, low, inserted, low + 1, ascending.length - low);
+            inserted[low] = position;
+            return inserted;
+        }
+
+        private static int compare(BookDTO[] books, Comparator<BookDTO> comparator, int a, int b) {
+            int byValue = comparator.compare(books[a], books[b]);
+            return byValue != 0 ? byValue : Integer.compare(a, b);
+        }
+
+        Page<BookDTO> slice(int[] ascending, boolean descending, Pageable pageable, Set<Long> matches) {
+            int size = ascending.length;
+            List<BookDTO> content = new ArrayList<>(pageable.getPageSize());
+            if (matches == null) {
+                long end = Math.min(pageable.getOffset() + pageable.getPageSize(), size);
+                for (long i = pageable.getOffset(); i < end; i++) {
+                    content.add(books[at(ascending, descending, (int) i)]);
+                }
+                return new PageImpl<>(content, pageable, size);
+            }
+
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                int position = at(ascending, descending, i);
+                if (matches.contains(ids[position])) {
+                    if (total >= pageable.getOffset() && content.size() < pageable.getPageSize()) {
+                        content.add(books[position]);
+                    }
+                    total++;
+                }
+            }
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        private static int at(int[] ascending, boolean descending, int i) {
+            return descending ? ascending[ascending.length - 1 - i] : ascending[i];
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the book catalog. {@code BookServiceImpl} bumps it after each committed write,
+ * so anything derived from catalog pages can be keyed by it instead of being invalidated entry by entry.
+ */
+@Component
+public class CatalogVersion {
+    private final AtomicLong version = new AtomicLong();
+
+    public long get() {
+        return version.get();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+}
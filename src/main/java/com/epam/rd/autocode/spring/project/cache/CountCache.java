@@ -0,0 +1,66 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Total row counts for paginated lists, keyed by entity and filter.
+ * Service write methods invalidate an entity after commit; the TTL only bounds drift
+ * from writes that bypass the services.
+ */
+@Slf4j
+@Component
+public class CountCache {
+    public static final String ALL = "";
+
+    private final long ttlNanos;
+    private final Map<Class<?>, Map<String, CachedCount>> counts = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public CountCache(@Value("${bookstore.count-cache.ttl:PT1M}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long get(Class<?> entity, String filter, LongSupplier counter) {
+        Map<String, CachedCount> entityCounts = counts.computeIfAbsent(entity, e -> new ConcurrentHashMap<>());
+        CachedCount cached = entityCounts.get(filter);
+        long now = System.nanoTime();
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.value();
+        }
+
+        AtomicLong generation = generation(entity);
+        long before = generation.get();
+        long value = counter.getAsLong();
+        CachedCount loaded = new CachedCount(value, now);
+        entityCounts.put(filter, loaded);
+        // a write committed while counting: the value may already be stale, so don't keep it
+        if (generation.get() != before) {
+            entityCounts.remove(filter, loaded);
+        }
+        return value;
+    }
+
+    public void invalidate(Class<?> entity) {
+        generation(entity).incrementAndGet();
+        Map<String, CachedCount> entityCounts = counts.get(entity);
+        if (entityCounts != null) {
+            entityCounts.clear();
+        }
+        log.debug("Count cache invalidated for {}", entity.getSimpleName());
+    }
+
+    private AtomicLong generation(Class<?> entity) {
+        return generations.computeIfAbsent(entity, e -> new AtomicLong());
+    }
+
+    private record CachedCount(long value, long loadedAt) {
+    }
+}
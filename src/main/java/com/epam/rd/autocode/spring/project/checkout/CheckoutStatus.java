@@ -0,0 +1,34 @@
+package com.epam.rd.autocode.spring.project.checkout;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Outcome of a queued checkout as seen by the polling client. A failed checkout carries the submitted
+ * cart items so they can be put back, and one rejected for stale cart prices also the current prices.
+ */
+public record CheckoutStatus(State state, OrderDTO order, String errorMessage, Map<String, BigDecimal> currentPrices,
+                             Map<BookDTO, Integer> items) {
+    public enum State {
+        PENDING, COMPLETED, FAILED
+    }
+
+    static CheckoutStatus pending() {
+        return new CheckoutStatus(State.PENDING, null, null, Map.of(), Map.of());
+    }
+
+    static CheckoutStatus completed(OrderDTO order) {
+        return new CheckoutStatus(State.COMPLETED, order, null, Map.of(), Map.of());
+    }
+
+    static CheckoutStatus failed(String errorMessage, Map<BookDTO, Integer> items) {
+        return failed(errorMessage, Map.of(), items);
+    }
+
+    static CheckoutStatus failed(String errorMessage, Map<String, BigDecimal> currentPrices, Map<BookDTO, Integer> items) {
+        return new CheckoutStatus(State.FAILED, null, errorMessage, currentPrices, items);
+    }
+}
@@ -0,0 +1,99 @@
+package com.epam.rd.autocode.spring.project.checkout;
+
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Recent checkout keys and their orders, scoped by client. A repeated key gets the original order
+ * back (waiting for it if the first submission is still running) instead of placing a second one.
+ * Failed checkouts are forgotten so the same form can be resubmitted.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+    private final int maxKeys;
+    private final long ttlNanos;
+    // insertion order doubles as expiry order
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(@Value("${bookstore.checkout.idempotency.max-keys:10000}") int maxKeys,
+                            @Value("${bookstore.checkout.idempotency.ttl:PT10M}") Duration ttl) {
+        this.maxKeys = maxKeys;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public OrderDTO execute(String clientEmail, String key, Supplier<OrderDTO> checkout) {
+        Key id = new Key(clientEmail, key);
+        Entry mine = new Entry(new CompletableFuture<>(), System.nanoTime());
+        Entry existing;
+        synchronized (entries) {
+            evictExpired(mine.createdAt());
+            existing = entries.putIfAbsent(id, mine);
+            if (existing == null && entries.size() > maxKeys) {
+                Iterator<Entry> eldest = entries.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+
+        if (existing != null) {
+            log.info("Duplicate checkout {} for client: {}, returning the original order", key, clientEmail);
+            return await(existing.result());
+        }
+
+        try {
+            OrderDTO order = checkout.get();
+            mine.result().complete(order);
+            return order;
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(id, mine);
+            }
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public boolean contains(String clientEmail, String key) {
+        synchronized (entries) {
+            evictExpired(System.nanoTime());
+            return entries.containsKey(new Key(clientEmail, key));
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().createdAt() <= ttlNanos) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private static OrderDTO await(CompletableFuture<OrderDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(String clientEmail, String key) {
+    }
+
+    private record Entry(CompletableFuture<OrderDTO> result, long createdAt) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.epam.rd.autocode.spring.project.checkout;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.exception.PriceMismatchException;
+import com.epam.rd.autocode.spring.project.service.OrderService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional asynchronous checkout. Request threads enqueue a cart snapshot and return a ticket at once;
+ * a small worker pool takes jobs off the bounded queue and runs each order in its own transaction.
+ * The queue only smooths bursts: it caps concurrent order transactions at the worker count, it does not
+ * make them cheaper. When the queue is full the checkout is refused instead of holding another request
+ * thread. On shutdown new checkouts are refused and the workers finish the accepted ones first.
+ */
+@Slf4j
+@Component
+public class OrderIntakeQueue {
+    private static final long POLL_INTERVAL_MS = 200;
+
+    private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+    private final boolean enabled;
+    private final Duration shutdownTimeout;
+    private final long statusTtlNanos;
+    private final BlockingQueue<Job> queue;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    // guarded by this, so no job is queued after the workers have been told to stop
+    private boolean accepting = true;
+
+    public OrderIntakeQueue(OrderService orderService,
+                            IdempotencyStore idempotencyStore,
+                            @Value("${bookstore.checkout.async:false}") boolean enabled,
+                            @Value("${bookstore.checkout.queue-capacity:100}") int capacity,
+                            @Value("${bookstore.checkout.workers:2}") int workerCount,
+                            @Value("${bookstore.checkout.shutdown-timeout:PT30S}") Duration shutdownTimeout,
+                            @Value("${bookstore.checkout.status-ttl:PT10M}") Duration statusTtl) {
+        this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
+        this.enabled = enabled;
+        this.shutdownTimeout = shutdownTimeout;
+        this.statusTtlNanos = statusTtl.toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = enabled ? startWorkers(workerCount) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The checkout's idempotency key doubles as its ticket, so a repeated submission is not queued again.
+     *
+     * @return the ticket to poll, or empty when the queue is full
+     */
+    public Optional<Submission> submit(String key, String clientEmail, Map<BookDTO, Integer> items, BigDecimal totalPrice) {
+        evictExpired();
+
+        String ticket = key;
+        Ticket pending = new Ticket(clientEmail, CheckoutStatus.pending(), System.nanoTime());
+        Ticket existing = tickets.putIfAbsent(ticket, pending);
+        if (existing != null) {
+            if (existing.clientEmail().equals(clientEmail)) {
+                log.info("Duplicate checkout {} for client: {}, already queued", ticket, clientEmail);
+                return Optional.of(new Submission(ticket, false));
+            }
+            ticket = UUID.randomUUID().toString();
+            tickets.put(ticket, pending);
+        }
+
+        if (!offer(new Job(ticket, clientEmail, Map.copyOf(items), totalPrice))) {
+            tickets.remove(ticket);
+            log.warn("Checkout queue is full or stopping, refusing order for client: {}", clientEmail);
+            return Optional.empty();
+        }
+
+        log.debug("Checkout {} queued for client: {}", ticket, clientEmail);
+        return Optional.of(new Submission(ticket, true));
+    }
+
+    /**
+     * Tickets are only visible to the client that submitted them.
+     */
+    public Optional<CheckoutStatus> getStatus(String ticket, String clientEmail) {
+        Ticket entry = tickets.get(ticket);
+        if (entry == null || !entry.clientEmail().equals(clientEmail)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.status());
+    }
+
+    /**
+     * Forgets a finished ticket once its outcome has been shown to the client.
+     *
+     * @return whether this call forgot it, so a failed checkout's cart is put back only once
+     */
+    public boolean acknowledge(String ticket) {
+        Ticket entry = tickets.get(ticket);
+        return entry != null && entry.status().state() != CheckoutStatus.State.PENDING
+                && tickets.remove(ticket, entry);
+    }
+
+    /**
+     * Refuses new checkouts, then waits for the workers to place the ones already accepted.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        synchronized (this) {
+            accepting = false;
+        }
+        if (workers != null) {
+            workers.shutdown();
+            if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Checkout workers did not finish in {}, {} queued orders dropped", shutdownTimeout, queue.size());
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    private synchronized boolean offer(Job job) {
+        return accepting && queue.offer(job);
+    }
+
+    private synchronized boolean isAccepting() {
+        return accepting;
+    }
+
+    private ExecutorService startWorkers(int workerCount) {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "checkout-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            pool.execute(this::drain);
+        }
+        log.info("Async checkout enabled: {} workers, queue capacity {}", workerCount, queue.remainingCapacity());
+        return pool;
+    }
+
+    private void drain() {
+        // once no more jobs can arrive, stop as soon as the queue is empty
+        while (isAccepting() || !queue.isEmpty()) {
+            try {
+                Job job = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (job != null) {
+                    process(job);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void process(Job job) {
+        CheckoutStatus status;
+        try {
+            status = CheckoutStatus.completed(idempotencyStore.execute(job.clientEmail(), job.ticket(),
+                    () -> orderService.createOrder(job.clientEmail(), job.items(), job.totalPrice())));
+        } catch (PriceMismatchException e) {
+            status = CheckoutStatus.failed(e.getMessage(), e.getCurrentPrices(), job.items());
+        } catch (InsufficientFundsException | NotFoundException e) {
+            status = CheckoutStatus.failed(e.getMessage(), job.items());
+        } catch (RuntimeException e) {
+            log.error("Queued checkout {} failed for client: {}", job.ticket(), job.clientEmail(), e);
+            status = CheckoutStatus.failed("Checkout failed, please try again.", job.items());
+        }
+        tickets.put(job.ticket(), new Ticket(job.clientEmail(), status, System.nanoTime()));
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        tickets.values().removeIf(entry -> entry.status().state() != CheckoutStatus.State.PENDING
+                && now - entry.updatedAt() > statusTtlNanos);
+    }
+
+    /**
+     * @param queued {@code false} when the ticket was already queued by an earlier submission of the same key
+     */
+    public record Submission(String ticket, boolean queued) {
+    }
+
+    private record Job(String ticket, String clientEmail, Map<BookDTO, Integer> items, BigDecimal totalPrice) {
+    }
+
+    private record Ticket(String clientEmail, CheckoutStatus status, long updatedAt) {
+    }
+}
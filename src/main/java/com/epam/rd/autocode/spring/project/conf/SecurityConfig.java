@@ -35,9 +35,9 @@ public class SecurityConfig {
                         .requestMatchers("/", "/login", "/register", "/css/**", "/js/**", "/images/**", "/error").permitAll()
                         .requestMatchers("/books/add", "/books/edit/**", "/books/delete/**").hasRole(Role.EMPLOYEE.name())
                         .requestMatchers("/clients/**").hasRole(Role.EMPLOYEE.name())
-                        .requestMatchers("/orders", "/orders/*/confirm").hasRole(Role.EMPLOYEE.name())
+                        .requestMatchers("/orders", "/orders/*/confirm", "/orders/confirm", "/orders/pending", "/orders/pending/claim").hasRole(Role.EMPLOYEE.name())
                         .requestMatchers("/cart/**").hasRole(Role.CLIENT.name())
-                        .requestMatchers("/orders/create", "/orders/my").hasRole(Role.CLIENT.name())
+                        .requestMatchers("/orders/create", "/orders/my", "/orders/my/export", "/orders/status/*").hasRole(Role.CLIENT.name())
                         .requestMatchers("/client/**").hasRole(Role.CLIENT.name())
                         .anyRequest().authenticated()
                 )
@@ -1,15 +1,35 @@
 package com.epam.rd.autocode.spring.project.controller;
 
+import com.epam.rd.autocode.spring.project.cache.CatalogPageCache;
+import com.epam.rd.autocode.spring.project.cache.CatalogVersion;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
 import com.epam.rd.autocode.spring.project.service.BookService;
+import com.epam.rd.autocode.spring.project.util.BookCursor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.csrf.DeferredCsrfToken;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Slf4j
 @Controller
@@ -17,6 +37,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class BookController {
     private final BookService bookService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogPageCache catalogPageCache;
 
     @GetMapping
     public String getAllBooks(@RequestParam(defaultValue = "0") int page,
@@ -24,28 +46,69 @@ public class BookController {
                               @RequestParam(defaultValue = "id") String sort,
                               @RequestParam(defaultValue = "asc") String dir,
                               @RequestParam(required = false) String keyword,
+                              @RequestParam(required = false) String after,
+                              @ModelAttribute("filter") BookFilter filter,
+                              ServletWebRequest webRequest,
                               Model model) {
+        if (checkNotModified(webRequest)) {
+            return null;
+        }
 
-        log.debug("Fetching books catalog. Page: {}, Sort: {}, Keyword: {}", page, sort, keyword);
-
-        Page<BookDTO> bookPage = bookService.getAllBooks(page, size, sort, dir, keyword);
+        model.addAttribute("catalogBody", catalogPageCache.body(webRequest.getRequest(), webRequest.getResponse(),
+                () -> listBooks(page, size, sort, dir, keyword, after, filter, model)));
+        return "books/list";
+    }
 
-        model.addAttribute("books", bookPage);
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", bookPage.getTotalPages());
+    private Map<String, Object> listBooks(int page, int size, String sort, String dir, String keyword, String after,
+                                          BookFilter filter, Model model) {
+        // keyset browsing has no facet support, so a filtered catalog is always paged by offset,
+        // as is a sort whose values a cursor cannot hold
+        if (after != null && filter.isEmpty() && BookCursor.supports(sort)) {
+            log.debug("Fetching books catalog. After: '{}', Sort: {}, Keyword: {}", after, sort, keyword);
+
+            Window<BookDTO> bookWindow;
+            try {
+                bookWindow = bookService.getBooksAfter(after, size, sort, dir, keyword);
+            } catch (IllegalArgumentException e) {
+                // a tampered or stale cursor starts the walk over instead of failing the page
+                log.warn("Invalid catalog cursor '{}': {}", after, e.getMessage());
+                bookWindow = bookService.getBooksAfter(null, size, sort, dir, keyword);
+            }
+
+            model.addAttribute("books", bookWindow);
+            model.addAttribute("keyset", true);
+            model.addAttribute("pageSize", size);
+            model.addAttribute("nextCursor", bookWindow.hasNext()
+                    ? BookCursor.encode(bookWindow.positionAt(bookWindow.size() - 1), sort)
+                    : null);
+        } else {
+            log.debug("Fetching books catalog. Page: {}, Sort: {}, Keyword: {}, Filter: {}", page, sort, keyword, filter);
+
+            Page<BookDTO> bookPage = bookService.getAllBooks(page, size, sort, dir, keyword, filter);
+
+            model.addAttribute("books", bookPage);
+            model.addAttribute("keyset", false);
+            model.addAttribute("currentPage", page);
+            model.addAttribute("totalPages", bookPage.getTotalPages());
+        }
 
         model.addAttribute("sortField", sort);
         model.addAttribute("sortDir", dir);
         model.addAttribute("reverseSortDir", dir.equals("asc") ? "desc" : "asc");
         model.addAttribute("keyword", keyword);
-
-        return "books/list";
+        model.addAttribute("facets", bookService.getFacetCounts(keyword, filter));
+        return model.asMap();
     }
 
     @GetMapping("/{name}")
-    public String getBook(@PathVariable String name, Model model) {
+    public String getBook(@PathVariable String name, ServletWebRequest webRequest, Model model) {
         log.debug("Viewing details for book: {}", name);
-        model.addAttribute("book", bookService.getBookByName(name));
+        // looked up first so a missing book is a 404 even with a matching ETag; the lookup is cached
+        BookDTO book = bookService.getBookByName(name);
+        if (checkNotModified(webRequest)) {
+            return null;
+        }
+        model.addAttribute("book", book);
         return "books/detail";
     }
 
@@ -92,4 +155,40 @@ public class BookController {
         bookService.deleteBookByName(name);
         return "redirect:/books";
     }
-}
\ No newline at end of file
+
+    /**
+     * Catalog pages change only with the catalog, the URL, the locale and the signed-in user (navbar,
+     * role buttons, and the CSRF token in their forms), so a strong ETag over those lets a repeat visit
+     * get a 304 before any service call. Pages showing a flash message are rendered without an ETag.
+     */
+    private boolean checkNotModified(ServletWebRequest webRequest) {
+        HttpServletRequest request = webRequest.getRequest();
+        HttpServletResponse response = webRequest.getResponse();
+        if (response == null || RequestContextUtils.getInputFlashMap(request) != null) {
+            return false;
+        }
+
+        StringBuilder version = new StringBuilder()
+                .append(catalogVersion.get()).append('|').append(request.getRequestURI());
+        new TreeMap<>(request.getParameterMap())
+                .forEach((param, values) -> version.append('|').append(param).append('=').append(Arrays.toString(values)));
+        version.append('|').append(LocaleContextHolder.getLocale());
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            version.append('|').append(principal.getName()).append('|').append(csrfToken(request));
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        return webRequest.checkNotModified(etag);
+    }
+
+    /**
+     * The raw token {@code CsrfFilter} loaded from the configured repository. The forms carry masked copies
+     * of it that change on every request, so the published {@code CsrfToken} would never match an earlier ETag.
+     * Resolving it here also creates a missing token before the render, so the first page keeps its ETag.
+     */
+    private static String csrfToken(HttpServletRequest request) {
+        DeferredCsrfToken token = (DeferredCsrfToken) request.getAttribute(DeferredCsrfToken.class.getName());
+        return token == null ? "" : token.get().getToken();
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.security.Principal;
+import java.util.UUID;
 
 @Slf4j
 @Controller
@@ -24,6 +25,7 @@ public class CartController {
     public String showCart(Model model, Principal principal) {
         model.addAttribute("cartItems", cartService.getCartDetails());
         model.addAttribute("totalPrice", cartService.getTotalPrice());
+        model.addAttribute("checkoutKey", UUID.randomUUID().toString());
 
         if (principal != null) {
             ClientDTO client = clientService.getClientByEmail(principal.getName());
@@ -82,7 +82,6 @@ public class ClientController {
         Page<ClientDTO> clientsPage = clientService.getAllClients(page, size, sort, dir);
 
         model.addAttribute("clients", clientsPage);
-        model.addAttribute("blockedEmails", clientService.getBlockedEmails());
 
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", clientsPage.getTotalPages());
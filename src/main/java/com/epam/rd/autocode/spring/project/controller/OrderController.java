@@ -1,22 +1,37 @@
 package com.epam.rd.autocode.spring.project.controller;
 
+import com.epam.rd.autocode.spring.project.checkout.CheckoutStatus;
+import com.epam.rd.autocode.spring.project.checkout.IdempotencyStore;
+import com.epam.rd.autocode.spring.project.checkout.OrderIntakeQueue;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
 import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.exception.PriceMismatchException;
 import com.epam.rd.autocode.spring.project.service.CartService;
 import com.epam.rd.autocode.spring.project.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
 import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Controller
@@ -25,6 +40,8 @@ import java.util.Map;
 public class OrderController {
     private final CartService cartService;
     private final OrderService orderService;
+    private final OrderIntakeQueue orderIntakeQueue;
+    private final IdempotencyStore idempotencyStore;
 
     @GetMapping
     public String getAllOrders(@RequestParam(defaultValue = "0") int page,
@@ -49,39 +66,185 @@ public class OrderController {
     }
 
     @PostMapping("/create")
-    public String createOrder(Principal principal, RedirectAttributes redirectAttributes) {
+    public String createOrder(@RequestParam(value = "idempotencyKey", required = false) String idempotencyKey,
+                              Principal principal, RedirectAttributes redirectAttributes) {
         String email = principal.getName();
+        String key = idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
         Map<BookDTO, Integer> cartDetails = cartService.getCartDetails();
 
         if (cartDetails.isEmpty()) {
+            // a resubmitted form finds the cart already cleared by the first submission
+            if (idempotencyStore.contains(email, key)) {
+                log.info("Checkout {} for user '{}' was already placed", key, email);
+                return "redirect:/orders/my";
+            }
+            if (orderIntakeQueue.isEnabled() && orderIntakeQueue.getStatus(key, email).isPresent()) {
+                log.info("Checkout {} for user '{}' is already queued", key, email);
+                return "redirect:/orders/status/" + key;
+            }
+
             log.warn("User '{}' attempted to create an order with an empty cart", email);
             redirectAttributes.addFlashAttribute("errorMessage", "Your cart is empty!");
             return "redirect:/books";
         }
 
-        orderService.createOrder(email, cartDetails, cartService.getTotalPrice());
+        if (orderIntakeQueue.isEnabled()) {
+            Optional<OrderIntakeQueue.Submission> submission =
+                    orderIntakeQueue.submit(key, email, cartDetails, cartService.getTotalPrice());
+            if (submission.isEmpty()) {
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "We are receiving too many orders right now. Please try again in a moment.");
+                return "redirect:/cart";
+            }
+            // the queued job holds the cart snapshot and a failed checkout puts it back; a replayed key
+            // queued an earlier snapshot, so items added since then stay in the cart
+            if (submission.get().queued()) {
+                cartService.clearCart();
+            }
+            return "redirect:/orders/status/" + submission.get().ticket();
+        }
 
-        cartService.clearCart();
+        BigDecimal totalPrice = cartService.getTotalPrice();
+        // only the submission that places the order empties the cart; a replayed key returns the stored order
+        // and leaves items added since then in the cart
+        OrderDTO order = idempotencyStore.execute(email, key, () -> {
+            OrderDTO placed = orderService.createOrder(email, cartDetails, totalPrice);
+            cartService.clearCart();
+            return placed;
+        });
 
-        log.info("Order successfully created for user '{}'", email);
+        log.info("Order #{} successfully created for user '{}'", order.getId(), email);
         return "redirect:/orders/my";
     }
 
+    @GetMapping("/status/{ticket}")
+    public String getCheckoutStatus(@PathVariable("ticket") String ticket, Principal principal,
+                                    Model model, RedirectAttributes redirectAttributes) {
+        CheckoutStatus status = orderIntakeQueue.getStatus(ticket, principal.getName())
+                .orElseThrow(() -> new NotFoundException("Checkout not found: " + ticket));
+
+        switch (status.state()) {
+            case COMPLETED -> {
+                orderIntakeQueue.acknowledge(ticket);
+                log.info("Queued order #{} completed for user '{}'", status.order().getId(), principal.getName());
+                return "redirect:/orders/my";
+            }
+            case FAILED -> {
+                if (orderIntakeQueue.acknowledge(ticket)) {
+                    cartService.restoreItems(status.items());
+                    cartService.updatePrices(status.currentPrices());
+                }
+                redirectAttributes.addFlashAttribute("errorMessage", status.errorMessage());
+                return "redirect:/cart";
+            }
+            default -> {
+                model.addAttribute("ticket", ticket);
+                return "orders/processing";
+            }
+        }
+    }
+
     @GetMapping("/my")
-    public String getMyOrders(Model model, Principal principal) {
+    public String getMyOrders(@RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "10") int size,
+                              Model model, Principal principal) {
         String email = principal.getName();
-        log.debug("Fetching orders for client: {}", email);
+        log.debug("Fetching orders for client: {}. Page: {}", email, page);
 
-        List<OrderDTO> myOrders = orderService.getOrdersByClient(email);
-        model.addAttribute("orders", myOrders);
+        Page<OrderDTO> orderPage = orderService.getOrdersByClient(email, page, size);
+        model.addAttribute("orders", orderPage);
+        model.addAttribute("currentPage", page);
+        model.addAttribute("totalPages", orderPage.getTotalPages());
 
         return "orders/my_orders";
     }
 
+    @GetMapping("/my/export")
+    public void exportMyOrders(Principal principal, HttpServletResponse response) throws IOException {
+        String email = principal.getName();
+        log.info("Exporting order history for client: {}", email);
+
+        response.setContentType("text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"");
+
+        PrintWriter writer = response.getWriter();
+        writer.println("id,date,price,status,items");
+        try (Stream<OrderDTO> orders = orderService.streamOrdersByClient(email)) {
+            orders.forEach(order -> writer.println(toCsvRow(order)));
+        }
+        writer.flush();
+    }
+
+    @GetMapping("/pending")
+    public String getPendingOrders(@RequestParam(defaultValue = "0") int page,
+                                   @RequestParam(defaultValue = "20") int size,
+                                   Model model) {
+        log.debug("Fetching pending orders. Page: {}", page);
+
+        Page<OrderDTO> orderPage = orderService.getPendingOrders(page, size);
+        model.addAttribute("orders", orderPage);
+        model.addAttribute("currentPage", page);
+        model.addAttribute("totalPages", orderPage.getTotalPages());
+
+        return "orders/pending";
+    }
+
+    @PostMapping("/pending/claim")
+    public String claimPendingOrders(@RequestParam(value = "size", defaultValue = "10") int size,
+                                     Principal principal, RedirectAttributes redirectAttributes) {
+        List<OrderDTO> claimed = orderService.claimPendingOrders(principal.getName(), Math.max(1, Math.min(size, 100)));
+
+        if (claimed.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "There are no pending orders left to claim.");
+        } else {
+            redirectAttributes.addFlashAttribute("confirmedCount", claimed.size());
+        }
+        return "redirect:/orders/pending";
+    }
+
     @PostMapping("/{id}/confirm")
-    public String confirmOrder(@PathVariable("id") Long id, Principal principal) {
+    public String confirmOrder(@PathVariable("id") Long id,
+                               @RequestParam(value = "from", required = false) String from,
+                               Principal principal, RedirectAttributes redirectAttributes) {
         log.info("Employee '{}' confirmed order ID: {}", principal.getName(), id);
-        orderService.confirmOrder(id, principal.getName());
+        if (!orderService.confirmOrder(id, principal.getName())) {
+            redirectAttributes.addFlashAttribute("errorMessage",
+                    "Order #" + id + " was already confirmed by another employee.");
+        }
+        return "pending".equals(from) ? "redirect:/orders/pending" : "redirect:/orders";
+    }
+
+    @PostMapping("/confirm")
+    public String confirmOrders(@RequestParam(value = "ids", required = false) List<Long> ids,
+                                @RequestParam(value = "scope", defaultValue = "selected") String scope,
+                                @RequestParam(value = "before", required = false)
+                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                Principal principal, RedirectAttributes redirectAttributes) {
+        String email = principal.getName();
+        int confirmed = "unassigned".equals(scope)
+                ? orderService.confirmUnassignedOrders(before, email)
+                : orderService.confirmOrders(ids != null ? ids : List.of(), email);
+
+        log.info("Employee '{}' bulk-confirmed {} orders", email, confirmed);
+        redirectAttributes.addFlashAttribute("confirmedCount", confirmed);
         return "redirect:/orders";
     }
+
+    @ExceptionHandler(PriceMismatchException.class)
+    public String handlePriceMismatch(PriceMismatchException e, RedirectAttributes redirectAttributes) {
+        cartService.updatePrices(e.getCurrentPrices());
+        redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        return "redirect:/cart";
+    }
+
+    private static String toCsvRow(OrderDTO order) {
+        String items = order.getBookItems() == null ? "" : order.getBookItems().stream()
+                .map(item -> item.getBookName() + " x" + item.getQuantity())
+                .collect(Collectors.joining("; "));
+        return order.getId() + "," + order.getOrderDate() + "," + order.getPrice() + ","
+                + (order.getEmployeeEmail() == null ? "PROCESSING" : "CONFIRMED") + ","
+                + "\"" + items.replace("\"", "\"\"") + "\"";
+    }
+
 }
\ No newline at end of file
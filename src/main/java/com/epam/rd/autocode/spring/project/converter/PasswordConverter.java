@@ -2,21 +2,16 @@ package com.epam.rd.autocode.spring.project.converter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Converter;
-import org.modelmapper.spi.MappingContext;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class PasswordConverter implements Converter<String, String> {
+public class PasswordConverter {
     private final PasswordEncoder passwordEncoder;
 
-    @Override
-    public String convert(MappingContext<String, String> mappingContext) {
-        String rawPassword = mappingContext.getSource();
-
+    public String convert(String rawPassword) {
         if (rawPassword == null) {
             log.debug("Password conversion skipped: input raw password is null");
             return null;
@@ -26,4 +21,4 @@ public class PasswordConverter implements Converter<String, String> {
 
         return passwordEncoder.encode(rawPassword);
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
@@ -24,6 +25,7 @@ public class BookDTO {
     private AgeGroup ageGroup;
     @NotNull(message = "Price is required")
     @Positive(message = "Price must be greater than 0")
+    @With
     private BigDecimal price;
     @DateTimeFormat(pattern = "yyyy-MM-dd")
     @NotNull(message = "Publication date is required")
@@ -0,0 +1,30 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.search.PriceRange;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.StringUtils;
+
+/**
+ * Catalog facet selection; a null (or blank genre) field leaves that facet unfiltered.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFilter {
+    private String genre;
+    private Language language;
+    private AgeGroup ageGroup;
+    private PriceRange price;
+
+    public boolean hasGenre() {
+        return StringUtils.hasText(genre);
+    }
+
+    public boolean isEmpty() {
+        return !hasGenre() && language == null && ageGroup == null && price == null;
+    }
+}
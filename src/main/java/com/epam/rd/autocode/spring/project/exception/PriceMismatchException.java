@@ -0,0 +1,17 @@
+package com.epam.rd.autocode.spring.project.exception;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class PriceMismatchException extends RuntimeException {
+    private final Map<String, BigDecimal> currentPrices;
+
+    public PriceMismatchException(String message, Map<String, BigDecimal> currentPrices) {
+        super(message);
+        this.currentPrices = currentPrices;
+    }
+
+    public Map<String, BigDecimal> getCurrentPrices() {
+        return currentPrices;
+    }
+}
@@ -0,0 +1,45 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookMapper {
+
+    public BookDTO toDto(Book book) {
+        return new BookDTO(
+                book.getName(),
+                book.getGenre(),
+                book.getAgeGroup(),
+                book.getPrice(),
+                book.getPublicationDate(),
+                book.getAuthor(),
+                book.getPages(),
+                book.getCharacteristics(),
+                book.getDescription(),
+                book.getLanguage());
+    }
+
+    public Book toEntity(BookDTO dto) {
+        Book book = new Book();
+        update(dto, book);
+        return book;
+    }
+
+    /**
+     * Copies the non-null fields of {@code dto} onto {@code book}; the id is never touched.
+     */
+    public void update(BookDTO dto, Book book) {
+        if (dto.getName() != null) book.setName(dto.getName());
+        if (dto.getGenre() != null) book.setGenre(dto.getGenre());
+        if (dto.getAgeGroup() != null) book.setAgeGroup(dto.getAgeGroup());
+        if (dto.getPrice() != null) book.setPrice(dto.getPrice());
+        if (dto.getPublicationDate() != null) book.setPublicationDate(dto.getPublicationDate());
+        if (dto.getAuthor() != null) book.setAuthor(dto.getAuthor());
+        if (dto.getPages() != null) book.setPages(dto.getPages());
+        if (dto.getCharacteristics() != null) book.setCharacteristics(dto.getCharacteristics());
+        if (dto.getDescription() != null) book.setDescription(dto.getDescription());
+        if (dto.getLanguage() != null) book.setLanguage(dto.getLanguage());
+    }
+}
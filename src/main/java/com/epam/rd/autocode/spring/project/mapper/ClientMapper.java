@@ -0,0 +1,47 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.converter.PasswordConverter;
+import com.epam.rd.autocode.spring.project.dto.ClientDTO;
+import com.epam.rd.autocode.spring.project.model.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ClientMapper {
+    private final PasswordConverter passwordConverter;
+
+    public ClientDTO toDto(Client client) {
+        return new ClientDTO(
+                client.getEmail(),
+                client.getPassword(),
+                client.getName(),
+                client.getBalance(),
+                client.isBlocked());
+    }
+
+    public Client toEntity(ClientDTO dto) {
+        Client client = new Client();
+        client.setEmail(dto.getEmail());
+        client.setPassword(passwordConverter.convert(dto.getPassword()));
+        client.setName(dto.getName());
+        if (dto.getBalance() != null) {
+            client.setBalance(dto.getBalance());
+        }
+        client.setBlocked(dto.isBlocked());
+        return client;
+    }
+
+    /**
+     * Applies a profile edit. Balance and blocked status are owned by their dedicated
+     * operations and are deliberately not taken from the form.
+     */
+    public void update(ClientDTO dto, Client client) {
+        if (dto.getName() != null) {
+            client.setName(dto.getName());
+        }
+        if (dto.getPassword() != null) {
+            client.setPassword(passwordConverter.convert(dto.getPassword()));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.converter.PasswordConverter;
+import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
+import com.epam.rd.autocode.spring.project.model.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class EmployeeMapper {
+    private final PasswordConverter passwordConverter;
+
+    public EmployeeDTO toDto(Employee employee) {
+        return new EmployeeDTO(
+                employee.getEmail(),
+                employee.getPassword(),
+                employee.getName(),
+                employee.getBirthDate(),
+                employee.getPhone());
+    }
+
+    public Employee toEntity(EmployeeDTO dto) {
+        Employee employee = new Employee();
+        employee.setEmail(dto.getEmail());
+        employee.setPassword(passwordConverter.convert(dto.getPassword()));
+        employee.setName(dto.getName());
+        employee.setBirthDate(dto.getBirthDate());
+        employee.setPhone(dto.getPhone());
+        return employee;
+    }
+}
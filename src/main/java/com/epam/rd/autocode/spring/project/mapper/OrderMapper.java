@@ -0,0 +1,32 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.model.BookItem;
+import com.epam.rd.autocode.spring.project.model.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class OrderMapper {
+
+    public OrderDTO toDto(Order order) {
+        List<BookItemDTO> items = new ArrayList<>(order.getBookItems().size());
+        for (BookItem item : order.getBookItems()) {
+            items.add(toDto(item));
+        }
+        return new OrderDTO(
+                order.getId(),
+                order.getClient() != null ? order.getClient().getEmail() : null,
+                order.getEmployee() != null ? order.getEmployee().getEmail() : null,
+                order.getOrderDate(),
+                order.getPrice(),
+                items);
+    }
+
+    public BookItemDTO toDto(BookItem item) {
+        return new BookItemDTO(item.getBook() != null ? item.getBook().getName() : null, item.getQuantity());
+    }
+}
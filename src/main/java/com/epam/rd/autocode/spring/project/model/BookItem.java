@@ -12,7 +12,7 @@ import lombok.*;
 @EqualsAndHashCode(of = "id")
 public class BookItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
     @Column(nullable = false)
     private Integer quantity;
@@ -17,7 +17,7 @@ import java.util.List;
 @EqualsAndHashCode(of = "id")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
     @ManyToOne(optional = false)
     @JoinColumn(name = "client_id", nullable = false)
@@ -0,0 +1,12 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+
+import java.util.Optional;
+
+/**
+ * Lookup by book name through Hibernate's natural-id and entity caches, so a warm cache answers it without a query.
+ */
+public interface BookNaturalIdRepository {
+    Optional<Book> findByName(String name);
+}
@@ -0,0 +1,22 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+class BookNaturalIdRepositoryImpl implements BookNaturalIdRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Book> findByName(String name) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Book.class)
+                .loadOptional(name);
+    }
+}
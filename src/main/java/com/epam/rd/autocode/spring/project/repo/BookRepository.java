@@ -1,24 +1,60 @@
 package com.epam.rd.autocode.spring.project.repo;
 
 import com.epam.rd.autocode.spring.project.model.Book;
-import org.springframework.data.domain.Page;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
-    Optional<Book> findByName(String name);
+public interface BookRepository extends JpaRepository<Book, Long>, BookNaturalIdRepository {
     boolean existsByName(String name);
     void deleteByName(String name);
+    // Multi-name loads bypass the natural-id cache; the books they load still populate the entity cache
     List<Book> findByNameIn(Collection<String> names);
+    List<Book> findAllBy(Pageable pageable);
+    List<Book> findAllByIdIn(Collection<Long> ids, Pageable pageable);
+    @Query("SELECT b.id FROM Book b")
+    List<Long> findAllIds(Sort sort);
     @Query("SELECT b FROM Book b WHERE " +
             "LOWER(b.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(b.genre) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Book> findAllByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    List<Book> findAllByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    @Query("SELECT COUNT(b) FROM Book b WHERE " +
+            "LOWER(b.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.genre) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    long countByKeyword(@Param("keyword") String keyword);
+    // Non-selective facet filters; null parameters leave that condition out
+    @Query("SELECT b FROM Book b WHERE " +
+            "(:keyword IS NULL OR LOWER(b.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.genre) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+            "(:genre IS NULL OR b.genre = :genre) AND " +
+            "(:language IS NULL OR b.language = :language) AND " +
+            "(:ageGroup IS NULL OR b.ageGroup = :ageGroup) AND " +
+            "(:minPrice IS NULL OR b.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR b.price < :maxPrice)")
+    List<Book> findAllByFacets(@Param("keyword") String keyword,
+                               @Param("genre") String genre,
+                               @Param("language") Language language,
+                               @Param("ageGroup") AgeGroup ageGroup,
+                               @Param("minPrice") BigDecimal minPrice,
+                               @Param("maxPrice") BigDecimal maxPrice,
+                               Pageable pageable);
+
+    Window<Book> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Book> findAllByIdIn(Collection<Long> ids, ScrollPosition position, Sort sort, Limit limit);
+    Window<Book> findByNameContainingIgnoreCaseOrAuthorContainingIgnoreCaseOrGenreContainingIgnoreCase(
+            String name, String author, String genre, ScrollPosition position, Sort sort, Limit limit);
 }
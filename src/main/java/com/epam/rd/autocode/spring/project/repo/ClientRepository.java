@@ -1,12 +1,48 @@
 package com.epam.rd.autocode.spring.project.repo;
 
 import com.epam.rd.autocode.spring.project.model.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
+    List<Client> findAllBy(Pageable pageable);
     Optional<Client> findByEmail(String email);
     boolean existsByEmail(String email);
     void deleteByEmail(String email);
+
+    @Query("SELECT c.email FROM Client c WHERE c.isBlocked = true")
+    List<String> findBlockedEmails();
+
+    /**
+     * Subtracts {@code amount} only if the balance covers it, in a single statement.
+     * Native because Hibernate renders an invalid numeric cast for parameter arithmetic on H2.
+     * The query space hint limits second-level cache invalidation to clients; without it Hibernate evicts every region.
+     *
+     * @return 1 if the balance was debited, 0 if funds were insufficient
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "clients"))
+    @Query(value = "UPDATE clients SET balance = balance - :amount WHERE id = :id AND balance >= :amount",
+            nativeQuery = true)
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Adds {@code amount} in a single statement, so concurrent top-ups and debits never lose updates.
+     *
+     * @return 1 if the balance was credited, 0 if there is no such client
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "clients"))
+    @Query(value = "UPDATE clients SET balance = balance + :amount WHERE email = :email", nativeQuery = true)
+    int credit(@Param("email") String email, @Param("amount") BigDecimal amount);
 }
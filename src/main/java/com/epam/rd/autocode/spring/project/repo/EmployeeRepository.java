@@ -1,11 +1,14 @@
 package com.epam.rd.autocode.spring.project.repo;
 
 import com.epam.rd.autocode.spring.project.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+    List<Employee> findAllBy(Pageable pageable);
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
     void deleteByEmail(String email);
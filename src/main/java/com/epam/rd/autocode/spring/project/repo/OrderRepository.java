@@ -1,14 +1,81 @@
 package com.epam.rd.autocode.spring.project.repo;
 
+import com.epam.rd.autocode.spring.project.model.Employee;
 import com.epam.rd.autocode.spring.project.model.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // Orders, their items and books, client and employee in one select; Order -> DTO mapping reads all of them
+    @EntityGraph(attributePaths = {"client", "employee", "bookItems", "bookItems.book"})
     List<Order> findAllByClientEmail(String email);
+
+    @EntityGraph(attributePaths = {"client", "employee", "bookItems", "bookItems.book"})
     List<Order> findAllByEmployeeEmail(String email);
+
     Page<Order> findAll(Pageable pageable);
+    List<Order> findAllBy(Pageable pageable);
+
+    // History pages select ids first so LIMIT applies in SQL, then fetch those orders with the graph
+    @Query("SELECT o.id FROM Order o WHERE o.client.email = :email")
+    List<Long> findIdsByClientEmail(@Param("email") String email, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.employee.email = :email")
+    List<Long> findIdsByEmployeeEmail(@Param("email") String email, Pageable pageable);
+
+    // Keyset continuation in history order (orderDate, id) descending, along idx_orders_client_date
+    @Query("SELECT o.id FROM Order o WHERE o.client.email = :email AND "
+            + "(o.orderDate < :date OR (o.orderDate = :date AND o.id < :id)) ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findIdsByClientEmailBefore(@Param("email") String email, @Param("date") LocalDateTime date,
+                                          @Param("id") long id, Limit limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.employee.email = :email AND "
+            + "(o.orderDate < :date OR (o.orderDate = :date AND o.id < :id)) ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findIdsByEmployeeEmailBefore(@Param("email") String email, @Param("date") LocalDateTime date,
+                                            @Param("id") long id, Limit limit);
+
+    @Query("SELECT o.orderDate FROM Order o WHERE o.id = :id")
+    Optional<LocalDateTime> findOrderDateById(@Param("id") long id);
+
+    long countByClientEmail(String email);
+    long countByEmployeeEmail(String email);
+
+    @EntityGraph(attributePaths = {"client", "employee", "bookItems", "bookItems.book"})
+    List<Order> findAllByIdIn(Collection<Long> ids, Sort sort);
+
+    // Bulk confirmation: the IS NULL guard leaves orders another employee already took untouched
+    @Modifying
+    @Query("UPDATE Order o SET o.employee = :employee WHERE o.id IN :ids AND o.employee IS NULL")
+    int assignEmployee(@Param("employee") Employee employee, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.employee = :employee WHERE o.employee IS NULL AND o.orderDate < :before")
+    int assignEmployeeToUnassignedBefore(@Param("employee") Employee employee, @Param("before") LocalDateTime before);
+
+    // Pending-work queue, oldest first; served by idx_orders_employee_date
+    @Query("SELECT o.id FROM Order o WHERE o.employee IS NULL")
+    List<Long> findUnassignedIds(Pageable pageable);
+
+    long countByEmployeeIsNull();
+
+    /**
+     * Locks up to {@code limit} of the oldest unconfirmed orders, skipping rows another transaction
+     * already holds, so concurrent claims come back with disjoint batches instead of queueing on one row.
+     * Native because JPQL has no SKIP LOCKED; must run inside the claiming transaction.
+     */
+    @Query(value = "SELECT id FROM orders WHERE employee_id IS NULL ORDER BY order_date, id LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockUnassignedIds(@Param("limit") int limit);
 }
@@ -0,0 +1,254 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One bitset per genre, language, age group and price range over dense book slots.
+ * Filtering is an AND of the selected bitsets and every facet count is the cardinality of one more AND,
+ * so neither depends on a query per facet. Slots freed by deletes are reused to keep the bitsets dense.
+ * Counts for the whole, unfiltered catalog are shown on most catalog pages and kept until the next write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookFacetIndex implements SmartInitializingSingleton {
+    private static final int GENRE = 0;
+    private static final int LANGUAGE = 1;
+    private static final int AGE_GROUP = 2;
+    private static final int PRICE = 3;
+    // selection for a value no book has; only ever read
+    private static final BitSet EMPTY = new BitSet();
+
+    private final BookRepository bookRepository;
+
+    private final BitSet live = new BitSet();
+    private final List<Long> idsBySlot = new ArrayList<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<String, Long> idsByName = new HashMap<>();
+    private final Map<Long, String> namesById = new HashMap<>();
+    private final Map<String, BitSet> genres = new TreeMap<>();
+    private final Map<Language, BitSet> languages = new EnumMap<>(Language.class);
+    private final Map<AgeGroup, BitSet> ageGroups = new EnumMap<>(AgeGroup.class);
+    private final Map<PriceRange, BitSet> prices = new EnumMap<>(PriceRange.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile FacetCounts catalogCounts;
+
+    /**
+     * Runs before the web server starts, so no catalog page is rendered from an empty index.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild(bookRepository.findAll());
+    }
+
+    public void rebuild(Collection<Book> books) {
+        lock.writeLock().lock();
+        try {
+            live.clear();
+            idsBySlot.clear();
+            slotsById.clear();
+            idsByName.clear();
+            namesById.clear();
+            genres.clear();
+            languages.clear();
+            ageGroups.clear();
+            prices.clear();
+            books.forEach(this::add);
+            catalogCounts = null;
+            log.info("Facet index built: {} books, {} genres", slotsById.size(), genres.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            Long previousId = idsByName.get(book.getName());
+            if (previousId != null && !previousId.equals(book.getId())) {
+                unindex(previousId);
+            }
+            unindex(book.getId());
+            add(book);
+            catalogCounts = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String name) {
+        lock.writeLock().lock();
+        try {
+            Long id = idsByName.get(name);
+            if (id != null) {
+                unindex(id);
+                catalogCounts = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param within ids already matched by a keyword, or {@code null} for the whole catalog
+     * @return ids of the books in {@code within} that match every selected facet
+     */
+    public Set<Long> search(BookFilter filter, Set<Long> within) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = base(within);
+            for (BitSet selected : selections(filter)) {
+                if (selected != null) {
+                    matches.and(selected);
+                }
+            }
+            Set<Long> ids = new HashSet<>();
+            matches.stream().forEach(slot -> ids.add(idsBySlot.get(slot)));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param within ids already matched by a keyword, or {@code null} for the whole catalog
+     */
+    public FacetCounts count(BookFilter filter, Set<Long> within) {
+        boolean wholeCatalog = within == null && filter.isEmpty();
+        FacetCounts cached = catalogCounts;
+        if (wholeCatalog && cached != null) {
+            return cached;
+        }
+        lock.readLock().lock();
+        try {
+            BitSet base = base(within);
+            List<BitSet> selections = selections(filter);
+            FacetCounts counts = new FacetCounts(
+                    counts(genres, excluding(base, selections, GENRE)),
+                    counts(Language.class, languages, excluding(base, selections, LANGUAGE)),
+                    counts(AgeGroup.class, ageGroups, excluding(base, selections, AGE_GROUP)),
+                    counts(PriceRange.class, prices, excluding(base, selections, PRICE)));
+            // writers hold the write lock, so no write can clear the cache between computing and storing it
+            if (wholeCatalog) {
+                catalogCounts = counts;
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Book book) {
+        int slot = live.nextClearBit(0);
+        if (slot == idsBySlot.size()) {
+            idsBySlot.add(book.getId());
+        } else {
+            idsBySlot.set(slot, book.getId());
+        }
+        live.set(slot);
+        slotsById.put(book.getId(), slot);
+        idsByName.put(book.getName(), book.getId());
+        namesById.put(book.getId(), book.getName());
+
+        if (book.getGenre() != null) {
+            genres.computeIfAbsent(book.getGenre(), genre -> new BitSet()).set(slot);
+        }
+        if (book.getLanguage() != null) {
+            languages.computeIfAbsent(book.getLanguage(), language -> new BitSet()).set(slot);
+        }
+        if (book.getAgeGroup() != null) {
+            ageGroups.computeIfAbsent(book.getAgeGroup(), ageGroup -> new BitSet()).set(slot);
+        }
+        if (book.getPrice() != null) {
+            prices.computeIfAbsent(PriceRange.of(book.getPrice()), range -> new BitSet()).set(slot);
+        }
+    }
+
+    private void unindex(Long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        idsByName.remove(namesById.remove(id), id);
+        live.clear(slot);
+        genres.values().removeIf(bits -> {
+            bits.clear(slot);
+            return bits.isEmpty();
+        });
+        languages.values().forEach(bits -> bits.clear(slot));
+        ageGroups.values().forEach(bits -> bits.clear(slot));
+        prices.values().forEach(bits -> bits.clear(slot));
+    }
+
+    private BitSet base(Set<Long> within) {
+        if (within == null) {
+            return (BitSet) live.clone();
+        }
+        BitSet base = new BitSet();
+        for (Long id : within) {
+            Integer slot = slotsById.get(id);
+            if (slot != null) {
+                base.set(slot);
+            }
+        }
+        return base;
+    }
+
+    /**
+     * Selected bitsets indexed by facet constant; null where a facet is not filtered.
+     */
+    private List<BitSet> selections(BookFilter filter) {
+        return Arrays.asList(
+                filter.hasGenre() ? genres.getOrDefault(filter.getGenre(), EMPTY) : null,
+                selected(languages, filter.getLanguage()),
+                selected(ageGroups, filter.getAgeGroup()),
+                selected(prices, filter.getPrice()));
+    }
+
+    private static <K> BitSet selected(Map<K, BitSet> facet, K value) {
+        return value == null ? null : facet.getOrDefault(value, EMPTY);
+    }
+
+    private static BitSet excluding(BitSet base, List<BitSet> selections, int facet) {
+        BitSet matches = (BitSet) base.clone();
+        for (int i = 0; i < selections.size(); i++) {
+            if (i != facet && selections.get(i) != null) {
+                matches.and(selections.get(i));
+            }
+        }
+        return matches;
+    }
+
+    private static Map<String, Integer> counts(Map<String, BitSet> facet, BitSet matches) {
+        Map<String, Integer> counts = new TreeMap<>();
+        facet.forEach((value, bits) -> counts.put(value, cardinality(bits, matches)));
+        return counts;
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> counts(Class<E> type, Map<E, BitSet> facet, BitSet matches) {
+        Map<E, Integer> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            BitSet bits = facet.get(value);
+            counts.put(value, bits == null ? 0 : cardinality(bits, matches));
+        }
+        return counts;
+    }
+
+    private static int cardinality(BitSet bits, BitSet matches) {
+        BitSet hits = (BitSet) bits.clone();
+        hits.and(matches);
+        return hits.cardinality();
+    }
+}
@@ -0,0 +1,26 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * In-memory keyword index over book name, author and genre.
+ * Search cost depends on the number of matches, not on the catalog size.
+ */
+public interface BookSearchIndex {
+    /**
+     * Above this many matches the keyword is not selective: paging the hits through an id IN list
+     * costs more than letting the database scan, so callers should fall back to the LIKE query.
+     */
+    int MAX_SELECTIVE_MATCHES = 1_000;
+
+    void rebuild(Collection<Book> books);
+
+    void index(Book book);
+
+    void remove(String name);
+
+    Set<Long> search(String keyword);
+}
@@ -0,0 +1,119 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import com.epam.rd.autocode.spring.project.cache.CatalogVersion;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Book ids in ascending order of each sortable field, ties ordered by id. Read with an id-only query
+ * the first time a field is needed and again whenever the catalog version moves on.
+ * Large match sets are paged, by offset or by keyset, by walking this order and keeping the matching ids,
+ * so only the rows of the requested page are loaded instead of scanning the table with LIKE.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookSortOrder {
+    private static final Set<String> SORT_FIELDS = Set.of("id", "name", "price", "publicationDate", "author");
+
+    private final BookRepository bookRepository;
+    private final CatalogVersion catalogVersion;
+    private final Map<String, Order> orders = new ConcurrentHashMap<>();
+
+    /**
+     * @return ids of the requested page in page order, or empty when the sort is not supported
+     */
+    public Optional<List<Long>> page(Pageable pageable, Set<Long> matches) {
+        Optional<Sort.Order> order = supported(pageable.getSort());
+        if (order.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long[] ascending = ascending(order.get().getProperty());
+        boolean descending = order.get().isDescending();
+        List<Long> page = new ArrayList<>(pageable.getPageSize());
+        long skipped = 0;
+        for (int i = 0; i < ascending.length && page.size() < pageable.getPageSize(); i++) {
+            long id = at(ascending, descending, i);
+            if (matches.contains(id)) {
+                if (skipped < pageable.getOffset()) {
+                    skipped++;
+                } else {
+                    page.add(id);
+                }
+            }
+        }
+        return Optional.of(page);
+    }
+
+    /**
+     * Keyset counterpart of {@link #page}: the matches that follow {@code afterId} in sort order.
+     *
+     * @param afterId last id of the previous window, or {@code null} for the first window
+     * @return up to {@code limit} ids in window order, or empty when the sort is not supported
+     * or {@code afterId} is no longer in the catalog
+     */
+    public Optional<List<Long>> after(Sort sort, Long afterId, int limit, Set<Long> matches) {
+        Optional<Sort.Order> order = supported(sort);
+        if (order.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long[] ascending = ascending(order.get().getProperty());
+        boolean descending = order.get().isDescending();
+        int i = 0;
+        if (afterId != null) {
+            while (i < ascending.length && at(ascending, descending, i) != afterId) {
+                i++;
+            }
+            if (i == ascending.length) {
+                return Optional.empty();
+            }
+            i++;
+        }
+
+        List<Long> window = new ArrayList<>(limit);
+        for (; i < ascending.length && window.size() < limit; i++) {
+            long id = at(ascending, descending, i);
+            if (matches.contains(id)) {
+                window.add(id);
+            }
+        }
+        return Optional.of(window);
+    }
+
+    private static Optional<Sort.Order> supported(Sort sort) {
+        if (sort.stream().count() != 1) {
+            return Optional.empty();
+        }
+        Sort.Order order = sort.iterator().next();
+        return SORT_FIELDS.contains(order.getProperty()) ? Optional.of(order) : Optional.empty();
+    }
+
+    private static long at(long[] ascending, boolean descending, int i) {
+        return descending ? ascending[ascending.length - 1 - i] : ascending[i];
+    }
+
+    private long[] ascending(String field) {
+        long version = catalogVersion.get();
+        Order cached = orders.get(field);
+        if (cached == null || cached.version() != version) {
+            Sort sort = "id".equals(field) ? Sort.by("id") : Sort.by(field).and(Sort.by("id"));
+            cached = new Order(version, bookRepository.findAllIds(sort).stream().mapToLong(Long::longValue).toArray());
+            orders.put(field, cached);
+        }
+        return cached.ids();
+    }
+
+    private record Order(long version, long[] ids) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+
+import java.util.Map;
+
+/**
+ * Books per facet value. Each facet is counted with the keyword and the other facets applied,
+ * but not its own selection, so the counts show what picking another value would return.
+ */
+public record FacetCounts(Map<String, Integer> genres,
+                          Map<Language, Integer> languages,
+                          Map<AgeGroup, Integer> ageGroups,
+                          Map<PriceRange, Integer> prices) {
+}
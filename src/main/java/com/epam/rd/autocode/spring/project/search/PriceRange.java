@@ -0,0 +1,39 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Price facet buckets; {@code min} is inclusive, {@code max} exclusive, a null bound is open.
+ */
+public enum PriceRange {
+    UNDER_15(null, new BigDecimal("15")),
+    FROM_15_TO_25(new BigDecimal("15"), new BigDecimal("25")),
+    FROM_25_TO_50(new BigDecimal("25"), new BigDecimal("50")),
+    OVER_50(new BigDecimal("50"), null);
+
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    PriceRange(BigDecimal min, BigDecimal max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    public static PriceRange of(BigDecimal price) {
+        for (PriceRange range : values()) {
+            if ((range.min == null || price.compareTo(range.min) >= 0)
+                    && (range.max == null || price.compareTo(range.max) < 0)) {
+                return range;
+            }
+        }
+        throw new IllegalArgumentException("No price range for " + price);
+    }
+}
@@ -0,0 +1,136 @@
+package com.epam.rd.autocode.spring.project.search.impl;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.search.BookSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Token -> book ids posting lists. Every keyword token is matched as a prefix of the
+ * indexed tokens, and the postings of all keyword tokens are intersected.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bookstore.search.backend", havingValue = "token")
+public class InvertedBookSearchIndex implements BookSearchIndex, SmartInitializingSingleton {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final BookRepository bookRepository;
+
+    private final ConcurrentNavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<String>> tokensById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    /**
+     * Runs before the web server starts, so no search is ever answered by an empty index.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild(bookRepository.findAll());
+    }
+
+    @Override
+    public synchronized void rebuild(Collection<Book> books) {
+        postings.clear();
+        tokensById.clear();
+        idsByName.clear();
+        namesById.clear();
+        books.forEach(this::index);
+        log.info("Search index built: {} books, {} tokens", idsByName.size(), postings.size());
+    }
+
+    @Override
+    public synchronized void index(Book book) {
+        Long previousId = idsByName.get(book.getName());
+        if (previousId != null && !previousId.equals(book.getId())) {
+            unindex(previousId);
+        }
+        unindex(book.getId());
+
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(book.getName()));
+        tokens.addAll(tokenize(book.getAuthor()));
+        tokens.addAll(tokenize(book.getGenre()));
+
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(book.getId());
+        }
+        tokensById.put(book.getId(), tokens);
+        namesById.put(book.getId(), book.getName());
+        idsByName.put(book.getName(), book.getId());
+    }
+
+    @Override
+    public synchronized void remove(String name) {
+        unindex(idsByName.get(name));
+    }
+
+    @Override
+    public Set<Long> search(String keyword) {
+        List<String> queryTokens = tokenize(keyword);
+        if (queryTokens.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Set<Long>> matches = new ArrayList<>(queryTokens.size());
+        for (String token : queryTokens) {
+            Set<Long> ids = new HashSet<>();
+            postings.subMap(token, true, token + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(ids::addAll);
+            if (ids.isEmpty()) {
+                return Set.of();
+            }
+            matches.add(ids);
+        }
+
+        matches.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = matches.get(0);
+        for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+            result.retainAll(matches.get(i));
+        }
+        return result;
+    }
+
+    private void unindex(Long id) {
+        if (id == null) {
+            return;
+        }
+        String name = namesById.remove(id);
+        if (name != null) {
+            idsByName.remove(name, id);
+        }
+        Set<String> tokens = tokensById.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            postings.computeIfPresent(token, (t, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
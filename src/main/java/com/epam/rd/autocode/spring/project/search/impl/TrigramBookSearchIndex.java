@@ -0,0 +1,241 @@
+package com.epam.rd.autocode.spring.project.search.impl;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.search.BookSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * N-gram posting lists (1 to 3 characters) over name, author and genre.
+ * Answers the same case-insensitive substring queries as {@code BookRepository.findAllByKeyword}:
+ * short keywords hit a single posting list, longer ones intersect their trigram postings
+ * and verify the few remaining candidates against the stored field values.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bookstore.search.backend", havingValue = "trigram", matchIfMissing = true)
+public class TrigramBookSearchIndex implements BookSearchIndex, SmartInitializingSingleton {
+    private static final int GRAM = 3;
+
+    private final BookRepository bookRepository;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, String[]> fieldsById = new HashMap<>();
+    private final Map<String, Long> idsByName = new HashMap<>();
+    private final Map<Long, String> namesById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Runs before the web server starts, so no search is ever answered by an empty index.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild(bookRepository.findAll());
+    }
+
+    @Override
+    public void rebuild(Collection<Book> books) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            fieldsById.clear();
+            idsByName.clear();
+            namesById.clear();
+            books.forEach(this::add);
+            log.info("Trigram index built: {} books, {} grams", fieldsById.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            Long previousId = idsByName.get(book.getName());
+            if (previousId != null && !previousId.equals(book.getId())) {
+                unindex(previousId);
+            }
+            unindex(book.getId());
+            add(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String name) {
+        lock.writeLock().lock();
+        try {
+            Long id = idsByName.get(name);
+            if (id != null) {
+                unindex(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<Long> search(String keyword) {
+        if (keyword == null || keyword.isEmpty()) {
+            return Set.of();
+        }
+        String query = keyword.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            if (query.length() <= GRAM) {
+                PostingList exact = postings.get(query);
+                return exact == null ? Set.of() : exact.toSet();
+            }
+
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : grams(query, GRAM)) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return Set.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            Set<Long> result = new HashSet<>();
+            PostingList smallest = lists.get(0);
+            for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.get(i);
+                if (containsInAll(lists, id) && matches(fieldsById.get(id), query)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Book book) {
+        String[] fields = {lower(book.getName()), lower(book.getAuthor()), lower(book.getGenre())};
+        for (String gram : gramsOf(fields)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(book.getId());
+        }
+        fieldsById.put(book.getId(), fields);
+        idsByName.put(book.getName(), book.getId());
+        namesById.put(book.getId(), book.getName());
+    }
+
+    private void unindex(Long id) {
+        String[] fields = fieldsById.remove(id);
+        if (fields == null) {
+            return;
+        }
+        idsByName.remove(namesById.remove(id), id);
+        for (String gram : gramsOf(fields)) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String[] fields, String query) {
+        for (String field : fields) {
+            if (field.contains(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> gramsOf(String[] fields) {
+        Set<String> grams = new HashSet<>();
+        for (String field : fields) {
+            for (int n = 1; n <= GRAM; n++) {
+                grams.addAll(grams(field, n));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> grams(String text, int n) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + n <= text.length(); i++) {
+            grams.add(text.substring(i, i + n));
+        }
+        return grams;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sorted, growable array of book ids; ids normally arrive in ascending order, so adds are appends.
+     */
+    static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            int pos = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -(pos + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        Set<Long> toSet() {
+            Set<Long> set = new HashSet<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                set.add(ids[i]);
+            }
+            return set;
+        }
+    }
+}
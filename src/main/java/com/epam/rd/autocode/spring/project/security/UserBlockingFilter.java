@@ -10,6 +10,7 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -32,16 +33,12 @@ public class UserBlockingFilter extends OncePerRequestFilter {
         if (auth != null && auth.isAuthenticated() && isClient(auth)) {
             String email = auth.getName();
 
-            try {
-                if (clientService.getClientByEmail(email).isBlocked()) {
-                    log.warn("Security Filter: Detected active session for BLOCKED user '{}'. Invalidating session.", email);
-                    SecurityContextHolder.clearContext();
-                    request.getSession().invalidate();
-                    response.sendRedirect("/login?blocked");
-                    return;
-                }
-            } catch (Exception e) {
-                log.warn("Could not check blocking status for user {}: {}", email, e.getMessage());
+            if (clientService.isClientBlocked(email)) {
+                log.warn("Security Filter: Detected active session for BLOCKED user '{}'. Invalidating session.", email);
+                SecurityContextHolder.clearContext();
+                request.getSession().invalidate();
+                response.sendRedirect("/login?blocked");
+                return;
             }
         }
 
@@ -49,7 +46,11 @@ public class UserBlockingFilter extends OncePerRequestFilter {
     }
 
     private boolean isClient(Authentication auth) {
-        return auth.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals(ROLE_CLIENT));
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            if (ROLE_CLIENT.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.epam.rd.autocode.spring.project.service;
 
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.search.FacetCounts;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 
 public interface BookService {
 
@@ -17,4 +20,10 @@ public interface BookService {
     BookDTO addBook(BookDTO book);
 
     Page<BookDTO> getAllBooks(int page, int size, String sort, String direction, String keyword);
+
+    Page<BookDTO> getAllBooks(int page, int size, String sort, String direction, String keyword, BookFilter filter);
+
+    FacetCounts getFacetCounts(String keyword, BookFilter filter);
+
+    Window<BookDTO> getBooksAfter(String after, int size, String sort, String direction, String keyword);
 }
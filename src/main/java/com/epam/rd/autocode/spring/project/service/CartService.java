@@ -17,4 +17,15 @@ public interface CartService {
     Map<BookDTO, Integer> getCartDetails();
 
     BigDecimal getTotalPrice();
+
+    /**
+     * Replaces the prices of cached cart books, e.g. with the ones a rejected checkout was checked against.
+     */
+    void updatePrices(Map<String, BigDecimal> currentPrices);
+
+    /**
+     * Puts checked-out items back into the cart, e.g. after a queued checkout failed.
+     * Quantities add up with anything added to the cart in the meantime.
+     */
+    void restoreItems(Map<BookDTO, Integer> items);
 }
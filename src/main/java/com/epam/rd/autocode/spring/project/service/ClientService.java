@@ -24,5 +24,7 @@ public interface ClientService {
 
     List<String> getBlockedEmails();
 
+    boolean isClientBlocked(String email);
+
     void topUpBalance(String email, BigDecimal amount);
 }
@@ -3,10 +3,14 @@ package com.epam.rd.autocode.spring.project.service;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public interface OrderService {
 
@@ -16,9 +20,59 @@ public interface OrderService {
 
     List<OrderDTO> getOrdersByEmployee(String employeeEmail);
 
+    Page<OrderDTO> getOrdersByClient(String clientEmail, int page, int size);
+
+    Page<OrderDTO> getOrdersByEmployee(String employeeEmail, int page, int size);
+
+    /**
+     * History window of the orders that follow order {@code beforeId} in history order, newest
+     * {@code orderDate} first with ties by descending id (from the newest order when {@code null}).
+     * The position of each element carries the {@code id} key to continue from.
+     */
+    Window<OrderDTO> getOrdersByClientBefore(String clientEmail, Long beforeId, int size);
+
+    Window<OrderDTO> getOrdersByEmployeeBefore(String employeeEmail, Long beforeId, int size);
+
+    /**
+     * Whole history, newest first, fetched lazily in fixed-size chunks. Close the stream when done.
+     */
+    Stream<OrderDTO> streamOrdersByClient(String clientEmail);
+
     OrderDTO addOrder(OrderDTO order);
 
-    void confirmOrder(Long orderId, String employeeEmail);
+    /**
+     * Assigns the employee to the order unless someone else confirmed it first.
+     *
+     * @return {@code false} if the order was already confirmed
+     */
+    boolean confirmOrder(Long orderId, String employeeEmail);
+
+    /**
+     * Unconfirmed orders, oldest first.
+     */
+    Page<OrderDTO> getPendingOrders(int page, int size);
+
+    /**
+     * Confirms up to {@code batchSize} of the oldest unconfirmed orders for the employee. Employees claiming
+     * at the same time get disjoint batches.
+     *
+     * @return the claimed orders, empty when nothing is left
+     */
+    List<OrderDTO> claimPendingOrders(String employeeEmail, int batchSize);
+
+    /**
+     * Assigns the employee to those of the given orders that are still unconfirmed.
+     *
+     * @return the number of orders confirmed
+     */
+    int confirmOrders(Collection<Long> orderIds, String employeeEmail);
+
+    /**
+     * Assigns the employee to every unconfirmed order placed before the given time (all of them when {@code null}).
+     *
+     * @return the number of orders confirmed
+     */
+    int confirmUnassignedOrders(LocalDateTime placedBefore, String employeeEmail);
 
     OrderDTO createOrder(String clientEmail, Map<BookDTO, Integer> cartItems, BigDecimal totalPrice);
 }
@@ -1,43 +1,75 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
+import com.epam.rd.autocode.spring.project.cache.BookCache;
+import com.epam.rd.autocode.spring.project.cache.CatalogSnapshot;
+import com.epam.rd.autocode.spring.project.cache.CatalogVersion;
+import com.epam.rd.autocode.spring.project.cache.CountCache;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.mapper.BookMapper;
 import com.epam.rd.autocode.spring.project.model.Book;
 import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.search.BookFacetIndex;
+import com.epam.rd.autocode.spring.project.search.BookSearchIndex;
+import com.epam.rd.autocode.spring.project.search.BookSortOrder;
+import com.epam.rd.autocode.spring.project.search.FacetCounts;
+import com.epam.rd.autocode.spring.project.search.PriceRange;
 import com.epam.rd.autocode.spring.project.service.BookService;
+import com.epam.rd.autocode.spring.project.util.BookCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.epam.rd.autocode.spring.project.util.TransactionUtils.afterCommit;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
-    private final ModelMapper modelMapper;
+    private final BookMapper bookMapper;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final CountCache countCache;
+    private final BookCache bookCache;
+    private final CatalogVersion catalogVersion;
+    private final CatalogSnapshot catalogSnapshot;
+    private final BookSortOrder bookSortOrder;
 
     @Override
     public Page<BookDTO> getAllBooks(Pageable pageable) {
         log.debug("Fetching books page: {}", pageable.getPageNumber());
-        return bookRepository.findAll(pageable)
-                .map(book -> modelMapper.map(book, BookDTO.class));
+        return PageableExecutionUtils.getPage(bookRepository.findAllBy(pageable), pageable,
+                        () -> countCache.get(Book.class, CountCache.ALL, bookRepository::count))
+                .map(bookMapper::toDto);
     }
 
     @Override
     public BookDTO getBookByName(String name) {
-        log.debug("Fetching book details: {}", name);
-        return modelMapper.map(bookRepository.findByName(name)
-                .orElseThrow(() -> {
-                    log.error("Book not found: {}", name);
-                    return new NotFoundException("Book not found with name: " + name);
-                }), BookDTO.class);
+        return bookCache.get(name, key -> {
+            log.debug("Fetching book details: {}", key);
+            return bookMapper.toDto(bookRepository.findByName(key)
+                    .orElseThrow(() -> {
+                        log.error("Book not found: {}", key);
+                        return new NotFoundException("Book not found with name: " + key);
+                    }));
+        });
     }
 
     @Transactional
@@ -46,11 +78,20 @@ public class BookServiceImpl implements BookService {
         log.info("Updating book: {}", name);
         Book bookByName = bookRepository.findByName(name)
                 .orElseThrow(() -> new NotFoundException("Cannot update. Book not found with name: " + name));
-        modelMapper.map(book, bookByName);
+        bookMapper.update(book, bookByName);
 
         Book saved = bookRepository.save(bookByName);
+        afterCommit(() -> {
+            bookSearchIndex.index(saved);
+            bookFacetIndex.index(saved);
+            countCache.invalidate(Book.class);
+            // misses are not cached, so after a rename only the old name can be stale
+            bookCache.invalidate(name);
+            catalogSnapshot.put(saved);
+            catalogVersion.bump();
+        });
         log.info("Book updated successfully: {}", name);
-        return modelMapper.map(saved,  BookDTO.class);
+        return bookMapper.toDto(saved);
     }
 
     @Transactional
@@ -62,6 +103,14 @@ public class BookServiceImpl implements BookService {
             throw new NotFoundException("Cannot delete. Book not found with name: " + name);
         }
         bookRepository.deleteByName(name);
+        afterCommit(() -> {
+            bookSearchIndex.remove(name);
+            bookFacetIndex.remove(name);
+            countCache.invalidate(Book.class);
+            bookCache.invalidate(name);
+            catalogSnapshot.remove(name);
+            catalogVersion.bump();
+        });
         log.info("Book deleted: {}", name);
     }
 
@@ -73,28 +122,146 @@ public class BookServiceImpl implements BookService {
             log.error("Creation failed. Book exists: {}", book.getName());
             throw new AlreadyExistException("Book with name '" + book.getName() + "' already exists");
         }
-        Book saved = bookRepository.save(modelMapper.map(book, Book.class));
+        Book saved = bookRepository.save(bookMapper.toEntity(book));
+        afterCommit(() -> {
+            bookSearchIndex.index(saved);
+            bookFacetIndex.index(saved);
+            countCache.invalidate(Book.class);
+            catalogSnapshot.put(saved);
+            catalogVersion.bump();
+        });
         log.info("Book added successfully with ID: {}", saved.getId());
-        return modelMapper.map(saved,  BookDTO.class) ;
+        return bookMapper.toDto(saved);
     }
 
     @Override
     public Page<BookDTO> getAllBooks(int page, int size, String sort, String direction, String keyword) {
+        return getAllBooks(page, size, sort, direction, keyword, new BookFilter());
+    }
+
+    @Override
+    public Page<BookDTO> getAllBooks(int page, int size, String sort, String direction, String keyword,
+                                     BookFilter filter) {
         Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction)
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
 
-        log.debug("Fetching books page: {}, Keyword: {}", pageable.getPageNumber(), keyword);
+        log.debug("Fetching books page: {}, Keyword: {}, Filter: {}", pageable.getPageNumber(), keyword, filter);
+
+        String trimmed = keyword == null ? "" : keyword.trim();
+        // null means the whole catalog
+        Set<Long> matches = trimmed.isEmpty() ? null : bookSearchIndex.search(trimmed);
+        if (!filter.isEmpty()) {
+            matches = bookFacetIndex.search(filter, matches);
+        }
+
+        if (catalogSnapshot.isEnabled()) {
+            Optional<Page<BookDTO>> snapshotPage = catalogSnapshot.page(pageable, matches);
+            if (snapshotPage.isPresent()) {
+                return snapshotPage.get();
+            }
+        }
 
         Page<Book> books;
+        if (matches == null) {
+            books = PageableExecutionUtils.getPage(bookRepository.findAllBy(pageable), pageable,
+                    () -> countCache.get(Book.class, CountCache.ALL, bookRepository::count));
+        } else if (matches.isEmpty()) {
+            books = Page.empty(pageable);
+        } else if (matches.size() <= BookSearchIndex.MAX_SELECTIVE_MATCHES) {
+            books = PageableExecutionUtils.getPage(bookRepository.findAllByIdIn(matches, pageable), pageable,
+                    matches::size);
+        } else {
+            // large match sets are paged from the id order, so only the page's rows are loaded
+            Optional<List<Long>> pageIds = bookSortOrder.page(pageable, matches);
+            if (pageIds.isPresent()) {
+                books = new PageImpl<>(loadInOrder(pageIds.get()), pageable, matches.size());
+            } else if (filter.isEmpty()) {
+                books = PageableExecutionUtils.getPage(bookRepository.findAllByKeyword(trimmed, pageable), pageable,
+                        () -> countCache.get(Book.class, trimmed.toLowerCase(Locale.ROOT),
+                                () -> bookRepository.countByKeyword(trimmed)));
+            } else {
+                PriceRange price = filter.getPrice();
+                books = PageableExecutionUtils.getPage(bookRepository.findAllByFacets(
+                                trimmed.isEmpty() ? null : trimmed,
+                                filter.hasGenre() ? filter.getGenre() : null,
+                                filter.getLanguage(),
+                                filter.getAgeGroup(),
+                                price == null ? null : price.getMin(),
+                                price == null ? null : price.getMax(),
+                                pageable),
+                        pageable, matches::size);
+            }
+        }
+
+        return books.map(bookMapper::toDto);
+    }
+
+    private List<Book> loadInOrder(List<Long> ids) {
+        Map<Long, Book> byId = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public FacetCounts getFacetCounts(String keyword, BookFilter filter) {
+        String trimmed = keyword == null ? "" : keyword.trim();
+        return bookFacetIndex.count(filter, trimmed.isEmpty() ? null : bookSearchIndex.search(trimmed));
+    }
+
+    @Override
+    public Window<BookDTO> getBooksAfter(String after, int size, String sort, String direction, String keyword) {
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction)
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+
+        Sort order = Sort.by(sortDirection, sort);
+        ScrollPosition position = BookCursor.decode(after, sort);
+        Limit limit = Limit.of(size);
+
+        log.debug("Fetching books window after: '{}', Keyword: {}", after, keyword);
+
+        Window<Book> books;
         if (keyword != null && !keyword.trim().isEmpty()) {
-            books = bookRepository.findAllByKeyword(keyword.trim(), pageable);
+            String trimmed = keyword.trim();
+            Set<Long> ids = bookSearchIndex.search(trimmed);
+            if (ids.isEmpty()) {
+                books = Window.from(List.of(), index -> position);
+            } else if (ids.size() > BookSearchIndex.MAX_SELECTIVE_MATCHES) {
+                // large match sets are walked in the id order, so only the window's rows are loaded
+                books = bookSortOrder.after(order, afterId(position), size + 1, ids)
+                        .map(windowIds -> keysetWindow(windowIds, size, sort))
+                        .orElseGet(() -> bookRepository
+                                .findByNameContainingIgnoreCaseOrAuthorContainingIgnoreCaseOrGenreContainingIgnoreCase(
+                                        trimmed, trimmed, trimmed, position, order, limit));
+            } else {
+                books = bookRepository.findAllByIdIn(ids, position, order, limit);
+            }
         } else {
-            books = bookRepository.findAll(pageable);
+            books = bookRepository.findAllBy(position, order, limit);
         }
 
-        return books.map(book -> modelMapper.map(book, BookDTO.class));
+        return books.map(bookMapper::toDto);
+    }
+
+    private static Long afterId(ScrollPosition position) {
+        return position instanceof KeysetScrollPosition keyset && !keyset.isInitial()
+                ? (Long) keyset.getKeys().get("id")
+                : null;
+    }
+
+    // one extra id tells whether another window follows
+    private Window<Book> keysetWindow(List<Long> ids, int size, String sort) {
+        boolean hasNext = ids.size() > size;
+        List<Book> books = loadInOrder(hasNext ? ids.subList(0, size) : ids);
+        return Window.from(books, index -> {
+            Book book = books.get(index);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(sort, PropertyAccessorFactory.forBeanPropertyAccess(book).getPropertyValue(sort));
+            keys.put("id", book.getId());
+            return ScrollPosition.forward(keys);
+        }, hasNext);
     }
-}
\ No newline at end of file
+}
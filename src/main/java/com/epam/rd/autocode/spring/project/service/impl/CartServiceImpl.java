@@ -78,4 +78,25 @@ public class CartServiceImpl implements CartService {
                 })
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void updatePrices(Map<String, BigDecimal> currentPrices) {
+        currentPrices.forEach((name, price) -> {
+            BookDTO book = cart.getBooksCache().get(name);
+            if (book != null && book.getPrice().compareTo(price) != 0) {
+                log.debug("Cart price of '{}' updated: {} -> {}", name, book.getPrice(), price);
+                // the cart holds the shared cached DTO, so replace it instead of changing it
+                cart.getBooksCache().put(name, book.withPrice(price));
+            }
+        });
+    }
+
+    @Override
+    public void restoreItems(Map<BookDTO, Integer> items) {
+        log.debug("Restoring {} items to cart", items.size());
+        items.forEach((book, quantity) -> {
+            cart.getBooksCache().putIfAbsent(book.getName(), book);
+            cart.getItems().merge(book.getName(), quantity, Integer::sum);
+        });
+    }
+}
@@ -1,31 +1,39 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
+import com.epam.rd.autocode.spring.project.cache.BlockedClientCache;
+import com.epam.rd.autocode.spring.project.cache.CountCache;
 import com.epam.rd.autocode.spring.project.dto.ClientDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.mapper.ClientMapper;
 import com.epam.rd.autocode.spring.project.model.Client;
 import com.epam.rd.autocode.spring.project.repo.ClientRepository;
 import com.epam.rd.autocode.spring.project.repo.EmployeeRepository;
 import com.epam.rd.autocode.spring.project.service.ClientService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
 
+import static com.epam.rd.autocode.spring.project.util.TransactionUtils.afterCommit;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ClientServiceImpl implements ClientService {
     private final ClientRepository clientRepository;
     private final EmployeeRepository employeeRepository;
-    private final ModelMapper modelMapper;
+    private final ClientMapper clientMapper;
+    private final CountCache countCache;
+    private final BlockedClientCache blockedClientCache;
 
     @Override
     public Page<ClientDTO> getAllClients(int page, int size, String sortField, String sortDir) {
@@ -35,18 +43,20 @@ public class ClientServiceImpl implements ClientService {
 
         String actualSortField = "status".equals(sortField) ? "isBlocked" : sortField;
 
-        return clientRepository.findAll(PageRequest.of(page, size, Sort.by(direction, actualSortField)))
-                .map(client -> modelMapper.map(client, ClientDTO.class));
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, actualSortField));
+        return PageableExecutionUtils.getPage(clientRepository.findAllBy(pageable), pageable,
+                        () -> countCache.get(Client.class, CountCache.ALL, clientRepository::count))
+                .map(clientMapper::toDto);
     }
 
     @Override
     public ClientDTO getClientByEmail(String email) {
         log.debug("Fetching client profile: {}", email);
-        return modelMapper.map(clientRepository.findByEmail(email)
+        return clientMapper.toDto(clientRepository.findByEmail(email)
                 .orElseThrow(() -> {
                     log.error("Client not found: {}", email);
                     return new NotFoundException("Client not found with email: " + email);
-                }), ClientDTO.class);
+                }));
     }
 
     @Transactional
@@ -55,11 +65,11 @@ public class ClientServiceImpl implements ClientService {
         log.info("Updating client profile: {}", email);
         Client clientByEmail = clientRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("Cannot update. Client not found with email: " + email));
-        modelMapper.map(client, clientByEmail);
+        clientMapper.update(client, clientByEmail);
 
         Client saved = clientRepository.save(clientByEmail);
         log.info("Client profile updated successfully: {}", email);
-        return modelMapper.map(saved, ClientDTO.class);
+        return clientMapper.toDto(saved);
     }
 
     @Transactional
@@ -71,6 +81,10 @@ public class ClientServiceImpl implements ClientService {
             throw new NotFoundException("Cannot delete. Client not found with email: " + email);
         }
         clientRepository.deleteByEmail(email);
+        afterCommit(() -> {
+            blockedClientCache.unblock(email);
+            countCache.invalidate(Client.class);
+        });
         log.info("Client deleted: {}", email);
     }
 
@@ -85,9 +99,15 @@ public class ClientServiceImpl implements ClientService {
             throw new AlreadyExistException("User with this email already exists");
         }
 
-        Client saved = clientRepository.save(modelMapper.map(clientDTO, Client.class));
+        Client saved = clientRepository.save(clientMapper.toEntity(clientDTO));
+        afterCommit(() -> {
+            if (saved.isBlocked()) {
+                blockedClientCache.block(saved.getEmail());
+            }
+            countCache.invalidate(Client.class);
+        });
         log.info("Client registered successfully: {}", saved.getEmail());
-        return modelMapper.map(saved, ClientDTO.class);
+        return clientMapper.toDto(saved);
     }
 
     @Transactional
@@ -99,6 +119,7 @@ public class ClientServiceImpl implements ClientService {
 
         client.setBlocked(true);
         clientRepository.save(client);
+        afterCommit(() -> blockedClientCache.block(email));
     }
 
     @Transactional
@@ -110,14 +131,17 @@ public class ClientServiceImpl implements ClientService {
 
         client.setBlocked(false);
         clientRepository.save(client);
+        afterCommit(() -> blockedClientCache.unblock(email));
     }
 
     @Override
     public List<String> getBlockedEmails() {
-        return clientRepository.findAll().stream()
-                .filter(Client::isBlocked)
-                .map(Client::getEmail)
-                .toList();
+        return clientRepository.findBlockedEmails();
+    }
+
+    @Override
+    public boolean isClientBlocked(String email) {
+        return blockedClientCache.isBlocked(email);
     }
 
     @Transactional
@@ -129,11 +153,9 @@ public class ClientServiceImpl implements ClientService {
             throw new IllegalArgumentException("Amount must be positive");
         }
 
-        Client client = clientRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("Client not found"));
-
-        client.setBalance(client.getBalance().add(amount));
-        clientRepository.save(client);
-        log.info("Balance updated for '{}'. New balance: {}", email, client.getBalance());
+        if (clientRepository.credit(email, amount) == 0) {
+            throw new NotFoundException("Client not found");
+        }
+        log.info("Balance updated for '{}'. Added: {}", email, amount);
     }
 }
\ No newline at end of file
@@ -1,40 +1,48 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
+import com.epam.rd.autocode.spring.project.cache.CountCache;
+import com.epam.rd.autocode.spring.project.converter.PasswordConverter;
 import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.mapper.EmployeeMapper;
 import com.epam.rd.autocode.spring.project.model.Employee;
 import com.epam.rd.autocode.spring.project.repo.ClientRepository;
 import com.epam.rd.autocode.spring.project.repo.EmployeeRepository;
 import com.epam.rd.autocode.spring.project.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import static com.epam.rd.autocode.spring.project.util.TransactionUtils.afterCommit;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final ClientRepository clientRepository;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
+    private final PasswordConverter passwordConverter;
+    private final CountCache countCache;
 
     @Override
     public Page<EmployeeDTO> getAllEmployees(Pageable pageable) {
         log.debug("Fetching employees page: {}", pageable.getPageNumber());
-        return employeeRepository.findAll(pageable)
-                .map(e -> modelMapper.map(e, EmployeeDTO.class));
+        return PageableExecutionUtils.getPage(employeeRepository.findAllBy(pageable), pageable,
+                        () -> countCache.get(Employee.class, CountCache.ALL, employeeRepository::count))
+                .map(employeeMapper::toDto);
     }
 
     @Override
     public EmployeeDTO getEmployeeByEmail(String email) {
         log.debug("Fetching employee by email: {}", email);
         return employeeRepository.findByEmail(email)
-                .map(employee -> modelMapper.map(employee, EmployeeDTO.class))
+                .map(employeeMapper::toDto)
                 .orElseThrow(() -> {
                     log.error("Employee not found with email: {}", email);
                     return new NotFoundException("Employee not found with email: " + email);
@@ -54,14 +62,13 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setBirthDate(employeeDTO.getBirthDate());
 
         if (employeeDTO.getPassword() != null && !employeeDTO.getPassword().isBlank()) {
-            String encodedPassword = modelMapper.map(employeeDTO, Employee.class).getPassword();
-            employee.setPassword(encodedPassword);
+            employee.setPassword(passwordConverter.convert(employeeDTO.getPassword()));
         }
 
         Employee savedEmployee = employeeRepository.save(employee);
         log.info("Employee updated successfully: {}", email);
 
-        return modelMapper.map(savedEmployee, EmployeeDTO.class);
+        return employeeMapper.toDto(savedEmployee);
     }
 
     @Transactional
@@ -75,6 +82,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         employeeRepository.deleteByEmail(email);
+        afterCommit(() -> countCache.invalidate(Employee.class));
         log.info("Employee deleted: {}", email);
     }
 
@@ -90,9 +98,10 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new AlreadyExistException("User with this email already exists");
         }
 
-        Employee saved = employeeRepository.save(modelMapper.map(employeeDTO, Employee.class));
+        Employee saved = employeeRepository.save(employeeMapper.toEntity(employeeDTO));
+        afterCommit(() -> countCache.invalidate(Employee.class));
         log.info("New employee registered: {}", saved.getEmail());
-        return modelMapper.map(saved, EmployeeDTO.class);
+        return employeeMapper.toDto(saved);
     }
 
     public boolean employeeExists(String email) {
@@ -1,43 +1,60 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
+import com.epam.rd.autocode.spring.project.cache.CountCache;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
 import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
 import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.exception.PriceMismatchException;
+import com.epam.rd.autocode.spring.project.mapper.OrderMapper;
 import com.epam.rd.autocode.spring.project.model.*;
 import com.epam.rd.autocode.spring.project.repo.BookRepository;
 import com.epam.rd.autocode.spring.project.repo.ClientRepository;
 import com.epam.rd.autocode.spring.project.repo.EmployeeRepository;
 import com.epam.rd.autocode.spring.project.repo.OrderRepository;
 import com.epam.rd.autocode.spring.project.service.OrderService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.epam.rd.autocode.spring.project.util.TransactionUtils.afterCommit;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Direction.DESC, "orderDate", "id");
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "orderDate", "id");
+    private static final int EXPORT_CHUNK = 200;
+    // keeps IN lists within the bind parameter limits of common databases
+    private static final int CONFIRM_CHUNK = 1_000;
+
     private final OrderRepository orderRepository;
     private final EmployeeRepository employeeRepository;
     private final ClientRepository clientRepository;
     private final BookRepository bookRepository;
-    private final ModelMapper modelMapper;
+    private final OrderMapper orderMapper;
+    private final CountCache countCache;
+    private final EntityManager entityManager;
 
     @Override
     public Page<OrderDTO> getAllOrders(int page, int size, String sortField, String sortDir) {
@@ -51,8 +68,10 @@ public class OrderServiceImpl implements OrderService {
             order = new Sort.Order(direction, sortField);
         }
 
-        return orderRepository.findAll(PageRequest.of(page, size, Sort.by(order)))
-                .map(entity -> modelMapper.map(entity, OrderDTO.class));
+        Pageable pageable = PageRequest.of(page, size, Sort.by(order));
+        return PageableExecutionUtils.getPage(orderRepository.findAllBy(pageable), pageable,
+                        () -> countCache.get(Order.class, CountCache.ALL, orderRepository::count))
+                .map(orderMapper::toDto);
     }
 
     @Override
@@ -60,7 +79,7 @@ public class OrderServiceImpl implements OrderService {
         log.debug("Fetching orders for client: {}", clientEmail);
         return orderRepository.findAllByClientEmail(clientEmail)
                 .stream()
-                .map(order -> modelMapper.map(order, OrderDTO.class))
+                .map(orderMapper::toDto)
                 .toList();
     }
 
@@ -69,10 +88,96 @@ public class OrderServiceImpl implements OrderService {
         log.debug("Fetching orders managed by employee: {}", employeeEmail);
         return orderRepository.findAllByEmployeeEmail(employeeEmail)
                 .stream()
-                .map(order -> modelMapper.map(order, OrderDTO.class))
+                .map(orderMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public Page<OrderDTO> getOrdersByClient(String clientEmail, int page, int size) {
+        log.debug("Fetching orders page {} for client: {}", page, clientEmail);
+        Pageable pageable = PageRequest.of(page, size, HISTORY_ORDER);
+        return historyPage(orderRepository.findIdsByClientEmail(clientEmail, pageable), pageable,
+                () -> orderRepository.countByClientEmail(clientEmail));
+    }
+
+    @Override
+    public Page<OrderDTO> getOrdersByEmployee(String employeeEmail, int page, int size) {
+        log.debug("Fetching orders page {} managed by employee: {}", page, employeeEmail);
+        Pageable pageable = PageRequest.of(page, size, HISTORY_ORDER);
+        return historyPage(orderRepository.findIdsByEmployeeEmail(employeeEmail, pageable), pageable,
+                () -> orderRepository.countByEmployeeEmail(employeeEmail));
+    }
+
+    @Override
+    public Window<OrderDTO> getOrdersByClientBefore(String clientEmail, Long beforeId, int size) {
+        log.debug("Fetching {} orders before #{} for client: {}", size, beforeId, clientEmail);
+        return historyWindow(beforeDate(beforeId)
+                .map(date -> orderRepository.findIdsByClientEmailBefore(clientEmail, date, beforeId, Limit.of(size + 1)))
+                .orElseGet(() -> orderRepository.findIdsByClientEmail(clientEmail, firstWindow(size))), size);
+    }
+
+    @Override
+    public Window<OrderDTO> getOrdersByEmployeeBefore(String employeeEmail, Long beforeId, int size) {
+        log.debug("Fetching {} orders before #{} managed by employee: {}", size, beforeId, employeeEmail);
+        return historyWindow(beforeDate(beforeId)
+                .map(date -> orderRepository.findIdsByEmployeeEmailBefore(employeeEmail, date, beforeId, Limit.of(size + 1)))
+                .orElseGet(() -> orderRepository.findIdsByEmployeeEmail(employeeEmail, firstWindow(size))), size);
+    }
+
+    @Override
+    public Stream<OrderDTO> streamOrdersByClient(String clientEmail) {
+        log.debug("Streaming order history for client: {}", clientEmail);
+        return Stream.iterate(exportWindow(clientEmail, null),
+                        Objects::nonNull,
+                        window -> window.hasNext()
+                                ? exportWindow(clientEmail, window.getContent().get(window.size() - 1).getId())
+                                : null)
+                .flatMap(Window::stream);
+    }
+
+    // open-session-in-view keeps one persistence context for the whole request, so each window's orders,
+    // items and books are released once mapped; otherwise memory still grows with the full history
+    private Window<OrderDTO> exportWindow(String clientEmail, Long beforeId) {
+        Window<OrderDTO> window = getOrdersByClientBefore(clientEmail, beforeId, EXPORT_CHUNK);
+        entityManager.clear();
+        return window;
+    }
+
+    @Override
+    public Page<OrderDTO> getPendingOrders(int page, int size) {
+        log.debug("Fetching pending orders page: {}", page);
+        Pageable pageable = PageRequest.of(page, size, OLDEST_FIRST);
+        return historyPage(orderRepository.findUnassignedIds(pageable), pageable, orderRepository::countByEmployeeIsNull);
+    }
+
+    private Page<OrderDTO> historyPage(List<Long> ids, Pageable pageable, LongSupplier total) {
+        List<OrderDTO> orders = ids.isEmpty() ? List.of() : orderRepository.findAllByIdIn(ids, pageable.getSort())
+                .stream()
+                .map(orderMapper::toDto)
+                .toList();
+        return PageableExecutionUtils.getPage(orders, pageable, total);
+    }
+
+    // an unknown cursor id restarts the walk from the newest order
+    private Optional<LocalDateTime> beforeDate(Long beforeId) {
+        return beforeId == null ? Optional.empty() : orderRepository.findOrderDateById(beforeId);
+    }
+
+    // one extra row tells whether another window follows
+    private static Pageable firstWindow(int size) {
+        return PageRequest.of(0, size + 1, HISTORY_ORDER);
+    }
+
+    private Window<OrderDTO> historyWindow(List<Long> ids, int size) {
+        boolean hasNext = ids.size() > size;
+        List<Long> page = hasNext ? ids.subList(0, size) : ids;
+        List<OrderDTO> orders = page.isEmpty() ? List.of() : orderRepository.findAllByIdIn(page, HISTORY_ORDER)
+                .stream()
+                .map(orderMapper::toDto)
+                .toList();
+        return Window.from(orders, index -> ScrollPosition.forward(Map.of("id", orders.get(index).getId())), hasNext);
+    }
+
     @Transactional
     @Override
     public OrderDTO addOrder(OrderDTO orderDTO) {
@@ -82,19 +187,9 @@ public class OrderServiceImpl implements OrderService {
         Client client = clientRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("Client not found: " + email));
 
-        if (client.getBalance().compareTo(orderDTO.getPrice()) < 0) {
-            log.warn("Order failed: Insufficient funds. Client: {}, Balance: {}, Required: {}",
-                    email, client.getBalance(), orderDTO.getPrice());
-            throw new InsufficientFundsException("Not enough funds! Your balance: " + client.getBalance() + " $, Order total: " + orderDTO.getPrice() + " $");
-        }
-
-        client.setBalance(client.getBalance().subtract(orderDTO.getPrice()));
-        clientRepository.save(client);
-
         Order orderEntity = new Order();
         orderEntity.setClient(client);
         orderEntity.setOrderDate(LocalDateTime.now());
-        orderEntity.setPrice(orderDTO.getPrice());
 
         if (orderDTO.getEmployeeEmail() != null) {
             employeeRepository.findByEmail(orderDTO.getEmployeeEmail())
@@ -109,6 +204,7 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toMap(Book::getName, Function.identity()));
 
         List<BookItem> bookItems = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
 
         for (BookItemDTO dtoItem : orderDTO.getBookItems()) {
             String name = dtoItem.getBookName();
@@ -125,34 +221,109 @@ public class OrderServiceImpl implements OrderService {
             bookItem.setOrder(orderEntity);
 
             bookItems.add(bookItem);
+            total = total.add(realBook.getPrice().multiply(BigDecimal.valueOf(dtoItem.getQuantity())));
+        }
+
+        // The quoted total comes from cart snapshots; charge only what the books cost now
+        if (orderDTO.getPrice() != null && orderDTO.getPrice().compareTo(total) != 0) {
+            log.warn("Order failed: Price mismatch. Client: {}, Quoted: {}, Current: {}", email, orderDTO.getPrice(), total);
+            Map<String, BigDecimal> currentPrices = booksMap.values().stream()
+                    .collect(Collectors.toMap(Book::getName, Book::getPrice));
+            throw new PriceMismatchException("Prices have changed since the books were added to your cart. New total: "
+                    + total + " $", currentPrices);
         }
 
+        // Debit last so the client row stays locked only for the order insert
+        if (clientRepository.debit(client.getId(), total) == 0) {
+            log.warn("Order failed: Insufficient funds. Client: {}, Balance: {}, Required: {}",
+                    email, client.getBalance(), total);
+            throw new InsufficientFundsException("Not enough funds! Your balance: " + client.getBalance() + " $, Order total: " + total + " $");
+        }
+
+        orderEntity.setPrice(total);
         orderEntity.setBookItems(bookItems);
         Order savedOrder = orderRepository.save(orderEntity);
+        afterCommit(() -> countCache.invalidate(Order.class));
 
         log.info("Order #{} successfully created for client: {}", savedOrder.getId(), email);
-        return modelMapper.map(savedOrder, OrderDTO.class);
+        return orderMapper.toDto(savedOrder);
     }
 
     @Transactional
     @Override
-    public void confirmOrder(Long orderId, String employeeEmail) {
+    public boolean confirmOrder(Long orderId, String employeeEmail) {
         log.info("Employee '{}' attempting to confirm order #{}", employeeEmail, orderId);
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException("Order not found: " + orderId));
+        Employee employee = employeeRepository.findByEmail(employeeEmail)
+                .orElseThrow(() -> new NotFoundException("Employee not found: " + employeeEmail));
+
+        // Guarded update: of two employees confirming at once exactly one changes the row
+        if (orderRepository.assignEmployee(employee, List.of(orderId)) == 1) {
+            log.info("Order #{} confirmed successfully", orderId);
+            return true;
+        }
+
+        if (!orderRepository.existsById(orderId)) {
+            throw new NotFoundException("Order not found: " + orderId);
+        }
+        log.warn("Order #{} was already confirmed by another employee", orderId);
+        return false;
+    }
+
+    @Transactional
+    @Override
+    public List<OrderDTO> claimPendingOrders(String employeeEmail, int batchSize) {
+        Employee employee = employeeRepository.findByEmail(employeeEmail)
+                .orElseThrow(() -> new NotFoundException("Employee not found: " + employeeEmail));
+
+        List<Long> ids = orderRepository.lockUnassignedIds(batchSize);
+        if (ids.isEmpty()) {
+            log.info("Employee '{}' found no pending orders to claim", employeeEmail);
+            return List.of();
+        }
+
+        // The rows are locked by this transaction, so the guard cannot miss any of them
+        orderRepository.assignEmployee(employee, ids);
+        log.info("Employee '{}' claimed {} pending orders", employeeEmail, ids.size());
+        return orderRepository.findAllByIdIn(ids, OLDEST_FIRST)
+                .stream()
+                .map(orderMapper::toDto)
+                .toList();
+    }
+
+    @Transactional
+    @Override
+    public int confirmOrders(Collection<Long> orderIds, String employeeEmail) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        log.info("Employee '{}' confirming {} selected orders", employeeEmail, orderIds.size());
+
+        Employee employee = employeeRepository.findByEmail(employeeEmail)
+                .orElseThrow(() -> new NotFoundException("Employee not found: " + employeeEmail));
 
-        if (order.getEmployee() != null) {
-            log.warn("Order #{} already processed by {}", orderId, order.getEmployee().getEmail());
-            return;
+        List<Long> ids = List.copyOf(Set.copyOf(orderIds));
+        int confirmed = 0;
+        for (int from = 0; from < ids.size(); from += CONFIRM_CHUNK) {
+            confirmed += orderRepository.assignEmployee(employee, ids.subList(from, Math.min(from + CONFIRM_CHUNK, ids.size())));
         }
 
+        log.info("Employee '{}' confirmed {} of {} selected orders", employeeEmail, confirmed, ids.size());
+        return confirmed;
+    }
+
+    @Transactional
+    @Override
+    public int confirmUnassignedOrders(LocalDateTime placedBefore, String employeeEmail) {
+        LocalDateTime before = placedBefore != null ? placedBefore : LocalDateTime.now();
+        log.info("Employee '{}' confirming all unassigned orders placed before {}", employeeEmail, before);
+
         Employee employee = employeeRepository.findByEmail(employeeEmail)
                 .orElseThrow(() -> new NotFoundException("Employee not found: " + employeeEmail));
 
-        order.setEmployee(employee);
-        orderRepository.save(order);
-        log.info("Order #{} confirmed successfully", orderId);
+        int confirmed = orderRepository.assignEmployeeToUnassignedBefore(employee, before);
+        log.info("Employee '{}' confirmed {} unassigned orders", employeeEmail, confirmed);
+        return confirmed;
     }
 
     @Override
@@ -0,0 +1,113 @@
+package com.epam.rd.autocode.spring.project.util;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes keyset positions of the book catalog as {@code <sortKey>,<id>} cursors.
+ * The id is always part of the key, so the position is unique even for duplicate sort values.
+ */
+public final class BookCursor {
+    private static final String ID = "id";
+    private static final Set<Class<?>> KEY_TYPES = Set.of(String.class, BigDecimal.class, LocalDate.class,
+            Long.class, Integer.class);
+
+    private BookCursor() {
+    }
+
+    /**
+     * @return whether positions sorted by {@code sort} can be written to and read back from a cursor
+     */
+    public static boolean supports(String sort) {
+        Field field = ReflectionUtils.findField(Book.class, sort);
+        return field != null && (KEY_TYPES.contains(field.getType()) || field.getType().isEnum());
+    }
+
+    public static ScrollPosition decode(String cursor, String sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        int separator = cursor.lastIndexOf(',');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!ID.equals(sort)) {
+            keys.put(sort, parse(cursor.substring(0, separator), sortType(sort)));
+        }
+        try {
+            keys.put(ID, Long.valueOf(cursor.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static String encode(ScrollPosition position, String sort) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+        if (!supports(sort)) {
+            throw new IllegalArgumentException("Cursor pagination is not supported for sort property: " + sort);
+        }
+        Map<String, ?> keys = keyset.getKeys();
+        return format(keys.get(sort)) + "," + keys.get(ID);
+    }
+
+    private static Class<?> sortType(String sort) {
+        Field field = ReflectionUtils.findField(Book.class, sort);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown sort property: " + sort);
+        }
+        return field.getType();
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        try {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (type == Long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class) {
+                return Integer.valueOf(value);
+            }
+            if (type.isEnum()) {
+                for (Object constant : type.getEnumConstants()) {
+                    if (((Enum<?>) constant).name().equals(value)) {
+                        return constant;
+                    }
+                }
+                throw new IllegalArgumentException("Malformed cursor value: " + value);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor value: " + value, e);
+        }
+        throw new IllegalArgumentException("Cursor pagination is not supported for " + type.getSimpleName());
+    }
+
+    private static String format(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value instanceof Enum<?> constant ? constant.name() : String.valueOf(value);
+    }
+}
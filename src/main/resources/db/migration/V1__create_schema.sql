@@ -0,0 +1,66 @@
+-- Schema as previously generated by Hibernate from the entity mappings, with IDENTITY ids.
+-- Existing databases are baselined at this version, so later changes belong in later migrations.
+
+CREATE TABLE employees
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    birth_date DATE         NOT NULL,
+    phone      VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_employees PRIMARY KEY (id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+CREATE TABLE clients
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email      VARCHAR(255)   NOT NULL,
+    password   VARCHAR(255)   NOT NULL,
+    name       VARCHAR(255)   NOT NULL,
+    balance    NUMERIC(38, 2) NOT NULL,
+    is_blocked BOOLEAN        NOT NULL,
+    CONSTRAINT pk_clients PRIMARY KEY (id),
+    CONSTRAINT uk_clients_email UNIQUE (email)
+);
+
+CREATE TABLE books
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name             VARCHAR(255)   NOT NULL,
+    genre            VARCHAR(255)   NOT NULL,
+    age_group        VARCHAR(255) CHECK (age_group IN ('CHILD', 'TEEN', 'ADULT', 'OTHER')),
+    price            NUMERIC(38, 2) NOT NULL,
+    publication_year DATE           NOT NULL,
+    author           VARCHAR(255)   NOT NULL,
+    number_of_pages  INTEGER        NOT NULL,
+    characteristics  VARCHAR(255),
+    description      VARCHAR(1000),
+    language         VARCHAR(255) CHECK (language IN ('ENGLISH', 'GERMAN', 'FRENCH', 'SPANISH', 'JAPANESE', 'UKRAINIAN', 'OTHER')),
+    CONSTRAINT pk_books PRIMARY KEY (id),
+    CONSTRAINT uk_books_name UNIQUE (name)
+);
+
+CREATE TABLE orders
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    client_id   BIGINT         NOT NULL,
+    employee_id BIGINT,
+    order_date  TIMESTAMP(6)   NOT NULL,
+    price       NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_orders PRIMARY KEY (id),
+    CONSTRAINT fk_orders_client FOREIGN KEY (client_id) REFERENCES clients (id),
+    CONSTRAINT fk_orders_employee FOREIGN KEY (employee_id) REFERENCES employees (id)
+);
+
+CREATE TABLE book_items
+(
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    quantity INTEGER NOT NULL,
+    book_id  BIGINT  NOT NULL,
+    order_id BIGINT  NOT NULL,
+    CONSTRAINT pk_book_items PRIMARY KEY (id),
+    CONSTRAINT fk_book_items_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_book_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
@@ -0,0 +1,9 @@
+-- Indexes for the repository finders. Emails and book names are covered by their unique constraints;
+-- orders by employee and the pending-order queue by idx_orders_employee_date (V3), which leads with employee_id.
+-- H2 also indexes foreign key columns on its own; these keep the access paths independent of that.
+
+-- Order history of a client, newest first
+CREATE INDEX idx_orders_client_date ON orders (client_id, order_date);
+
+-- Lines of the fetched orders
+CREATE INDEX idx_book_items_order ON book_items (order_id);
@@ -0,0 +1,27 @@
+-- Ids moved from IDENTITY columns to pooled sequences, and the blocked-client and pending-order finders got
+-- their indexes. Databases baselined at V1 have none of these; ones that ran with ddl-auto=update in between
+-- may already have some, hence IF NOT EXISTS.
+
+CREATE SEQUENCE IF NOT EXISTS employees_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS clients_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS books_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS book_items_seq START WITH 1 INCREMENT BY 50;
+
+-- Existing rows hold ids the new sequences would hand out again.
+-- Hibernate's pooled optimizer uses the block ending at each sequence value, so leave one block of headroom.
+ALTER SEQUENCE employees_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM employees);
+ALTER SEQUENCE clients_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM clients);
+ALTER SEQUENCE books_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM books);
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM orders);
+ALTER SEQUENCE book_items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM book_items);
+
+-- Ids now come from the sequences only
+ALTER TABLE employees ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE clients ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE books ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE book_items ALTER COLUMN id DROP IDENTITY;
+
+CREATE INDEX IF NOT EXISTS idx_clients_is_blocked ON clients (is_blocked);
+CREATE INDEX IF NOT EXISTS idx_orders_employee_date ON orders (employee_id, order_date);
@@ -0,0 +1,79 @@
+package com.epam.rd.autocode.spring.project;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the migrations the way each profile does: from scratch, and on top of a database that Hibernate
+ * created before Flyway managed the schema (prod, {@code baseline-on-migrate}).
+ */
+class SchemaMigrationTest {
+    private static final List<String> TABLES = List.of("employees", "clients", "books", "orders", "book_items");
+
+    @Test
+    void migrate_PreFlywayDatabase_BaselinesAndAppliesLaterMigrations() throws Exception {
+        JdbcDataSource dataSource = dataSource();
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/pre-flyway-schema.sql"));
+        }
+
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+
+        assertEquals(List.of("2", "3"), result.migrations.stream().map(migration -> migration.version).toList());
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertIndexesExist(jdbc);
+        for (String table : TABLES) {
+            long maxId = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            long next = jdbc.queryForObject("SELECT NEXT VALUE FOR " + table + "_seq", Long.class);
+            // the pooled optimizer hands out the 50 ids ending at the sequence value
+            assertTrue(next - 49 > maxId, table + " sequence would reuse existing ids");
+        }
+        jdbc.update("INSERT INTO clients (id, email, password, name, balance, is_blocked) "
+                + "VALUES (NEXT VALUE FOR clients_seq, 'new@client.com', 'hash', 'New', 0, FALSE)");
+        assertEquals(3, jdbc.queryForObject("SELECT COUNT(*) FROM clients", Integer.class));
+    }
+
+    @Test
+    void migrate_EmptyDatabase_CreatesSchema() {
+        JdbcDataSource dataSource = dataSource();
+
+        MigrateResult result = Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertEquals(3, result.migrationsExecuted);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertIndexesExist(jdbc);
+        for (String table : TABLES) {
+            assertEquals(51L, jdbc.queryForObject("SELECT NEXT VALUE FOR " + table + "_seq", Long.class));
+            assertEquals("NO", jdbc.queryForObject("SELECT IS_IDENTITY FROM INFORMATION_SCHEMA.COLUMNS "
+                    + "WHERE TABLE_NAME = ? AND COLUMN_NAME = 'ID'", String.class, table.toUpperCase()));
+        }
+    }
+
+    private static void assertIndexesExist(JdbcTemplate jdbc) {
+        List<String> indexes = jdbc.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES", String.class);
+        assertTrue(indexes.containsAll(List.of("IDX_CLIENTS_IS_BLOCKED", "IDX_ORDERS_EMPLOYEE_DATE",
+                "IDX_ORDERS_CLIENT_DATE", "IDX_BOOK_ITEMS_ORDER")), indexes.toString());
+    }
+
+    private static JdbcDataSource dataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,35 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.repo.ClientRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlockedClientCacheTest {
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final BlockedClientCache cache = new BlockedClientCache(clientRepository);
+
+    @Test
+    void startup_LoadsBlockedEmails() {
+        when(clientRepository.findBlockedEmails()).thenReturn(List.of("a@a.com"));
+
+        cache.afterSingletonsInstantiated();
+
+        assertTrue(cache.isBlocked("a@a.com"));
+        assertFalse(cache.isBlocked("b@b.com"));
+    }
+
+    @Test
+    void blockAndUnblock_UpdateMembership() {
+        cache.block("a@a.com");
+        assertTrue(cache.isBlocked("a@a.com"));
+
+        cache.unblock("a@a.com");
+        assertFalse(cache.isBlocked("a@a.com"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookCacheTest {
+
+    @Test
+    void logStats_ReportsCountersSincePreviousReport() {
+        BookCache cache = new BookCache(10, Duration.ofMinutes(1));
+        cache.get("Dune", name -> new BookDTO());
+        cache.get("Dune", name -> new BookDTO());
+
+        CacheStats first = cache.logStats();
+        cache.get("Dune", name -> new BookDTO());
+        CacheStats second = cache.logStats();
+
+        assertEquals(1, first.hitCount());
+        assertEquals(1, first.missCount());
+        assertEquals(1, second.hitCount());
+        assertEquals(0, second.missCount());
+    }
+}
@@ -0,0 +1,169 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.mapper.BookMapper;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotTest {
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private CatalogSnapshot snapshot;
+
+    private static Book book(long id, String name, String author, String price, int year) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        book.setPrice(new BigDecimal(price));
+        book.setPublicationDate(LocalDate.of(year, 1, 1));
+        return book;
+    }
+
+    private static List<String> names(Page<BookDTO> page) {
+        return page.getContent().stream().map(BookDTO::getName).toList();
+    }
+
+    private Page<BookDTO> page(int page, int size, Sort.Direction direction, String sort, Set<Long> matches) {
+        return snapshot.page(PageRequest.of(page, size, Sort.by(direction, sort)), matches).orElseThrow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(bookRepository.findAll()).thenReturn(List.of(
+                book(3L, "Cedar", "Bell", "20.00", 2001),
+                book(1L, "Birch", "Adams", "15.00", 2010),
+                book(2L, "Aspen", "Cole", "15.00", 1999),
+                book(4L, "Dogwood", "Adams", "9.99", 2020)));
+        snapshot = new CatalogSnapshot(bookRepository, new BookMapper(), "snapshot");
+        snapshot.load();
+    }
+
+    @Test
+    void page_EachSortField_MatchesOrderBy() {
+        assertEquals(List.of("Birch", "Aspen", "Cedar", "Dogwood"), names(page(0, 10, Sort.Direction.ASC, "id", null)));
+        assertEquals(List.of("Aspen", "Birch", "Cedar", "Dogwood"), names(page(0, 10, Sort.Direction.ASC, "name", null)));
+        assertEquals(List.of("Dogwood", "Birch", "Aspen", "Cedar"), names(page(0, 10, Sort.Direction.ASC, "price", null)));
+        assertEquals(List.of("Aspen", "Cedar", "Birch", "Dogwood"),
+                names(page(0, 10, Sort.Direction.ASC, "publicationDate", null)));
+        assertEquals(List.of("Cole", "Bell", "Adams", "Adams"), page(0, 10, Sort.Direction.DESC, "author", null)
+                .getContent().stream().map(BookDTO::getAuthor).toList());
+    }
+
+    @Test
+    void page_SlicesRequestedPage() {
+        Page<BookDTO> result = page(1, 3, Sort.Direction.DESC, "name", null);
+
+        assertEquals(List.of("Aspen"), names(result));
+        assertEquals(4, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+        assertTrue(page(5, 3, Sort.Direction.ASC, "name", null).getContent().isEmpty());
+    }
+
+    @Test
+    void page_WithMatches_FiltersAndCounts() {
+        Page<BookDTO> result = page(0, 1, Sort.Direction.ASC, "name", Set.of(1L, 4L, 99L));
+
+        assertEquals(List.of("Birch"), names(result));
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of("Dogwood"), names(page(1, 1, Sort.Direction.ASC, "name", Set.of(1L, 4L))));
+    }
+
+    @Test
+    void page_UnsupportedSort_FallsBack() {
+        assertTrue(snapshot.page(PageRequest.of(0, 5, Sort.by("genre")), null).isEmpty());
+        assertTrue(snapshot.page(PageRequest.of(0, 5, Sort.by("name", "price")), null).isEmpty());
+    }
+
+    @Test
+    void put_ReplacesBookById() {
+        Page<BookDTO> before = page(0, 10, Sort.Direction.ASC, "name", null);
+
+        snapshot.put(book(2L, "Zelkova", "Cole", "15.00", 1999));
+        snapshot.put(book(5L, "Elm", "Ford", "5.00", 2005));
+
+        assertEquals(List.of("Birch", "Cedar", "Dogwood", "Elm", "Zelkova"),
+                names(page(0, 10, Sort.Direction.ASC, "name", null)));
+        assertEquals("Elm", page(0, 1, Sort.Direction.ASC, "price", null).getContent().get(0).getName());
+        assertEquals(List.of("Aspen", "Birch", "Cedar", "Dogwood"), names(before));
+    }
+
+    @Test
+    void put_OneBook_MovesItWithoutResorting() {
+        List<Book> books = new ArrayList<>(IntStream.rangeClosed(1, 1000)
+                .mapToObj(id -> book(id, "Book " + (id * 7919 % 1000), "Author " + id % 7, id % 10 + ".00", 1950 + id % 70))
+                .toList());
+        when(bookRepository.findAll()).thenReturn(books);
+        AtomicInteger nameReads = new AtomicInteger();
+        CatalogSnapshot counted = new CatalogSnapshot(bookRepository, new BookMapper() {
+            @Override
+            public BookDTO toDto(Book book) {
+                BookDTO dto = new BookDTO() {
+                    @Override
+                    public String getName() {
+                        nameReads.incrementAndGet();
+                        return super.getName();
+                    }
+                };
+                BeanUtils.copyProperties(super.toDto(book), dto);
+                return dto;
+            }
+        }, "snapshot");
+        counted.load();
+
+        nameReads.set(0);
+        Book renamed = book(500L, "Aardvark", "Author 3", "4.00", 1990);
+        counted.put(renamed);
+        Book added = book(1001L, "Book 500", "Author 0", "4.00", 1990);
+        counted.put(added);
+
+        // a binary search per write; re-sorting 1000 books reads names thousands of times
+        assertTrue(nameReads.get() < 100, "Names read: " + nameReads.get());
+        books.set(499, renamed);
+        books.add(added);
+        snapshot.load();
+        for (String sort : List.of("id", "name", "price", "publicationDate", "author")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                PageRequest all = PageRequest.of(0, 2000, Sort.by(direction, sort));
+                assertEquals(names(snapshot.page(all, null).orElseThrow()), names(counted.page(all, null).orElseThrow()),
+                        direction + " " + sort);
+            }
+        }
+    }
+
+    @Test
+    void remove_DropsBookByName() {
+        snapshot.remove("Cedar");
+
+        assertEquals(List.of("Aspen", "Birch", "Dogwood"), names(page(0, 10, Sort.Direction.ASC, "name", null)));
+    }
+
+    @Test
+    void disabled_NeverLoadsOrServes() {
+        CatalogSnapshot disabled = new CatalogSnapshot(bookRepository, new BookMapper(), "db");
+        clearInvocations(bookRepository);
+
+        disabled.load();
+        disabled.put(book(5L, "Elm", "Ford", "5.00", 2005));
+
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.page(PageRequest.of(0, 5, Sort.by("name")), null).isEmpty());
+        verifyNoInteractions(bookRepository);
+    }
+}
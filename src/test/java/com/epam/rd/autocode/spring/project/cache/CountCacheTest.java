@@ -0,0 +1,68 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountCacheTest {
+
+    @Test
+    void get_SameKey_CountsOnce() {
+        CountCache cache = new CountCache(Duration.ofMinutes(1));
+        AtomicLong calls = new AtomicLong();
+
+        cache.get(Book.class, CountCache.ALL, calls::incrementAndGet);
+        long value = cache.get(Book.class, CountCache.ALL, calls::incrementAndGet);
+
+        assertEquals(1, value);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void get_DifferentFilters_AreCachedSeparately() {
+        CountCache cache = new CountCache(Duration.ofMinutes(1));
+
+        assertEquals(5, cache.get(Book.class, "java", () -> 5));
+        assertEquals(7, cache.get(Book.class, CountCache.ALL, () -> 7));
+        assertEquals(5, cache.get(Book.class, "java", () -> 99));
+    }
+
+    @Test
+    void invalidate_OnlyAffectsThatEntity() {
+        CountCache cache = new CountCache(Duration.ofMinutes(1));
+        cache.get(Book.class, CountCache.ALL, () -> 1);
+        cache.get(Order.class, CountCache.ALL, () -> 2);
+
+        cache.invalidate(Book.class);
+
+        assertEquals(10, cache.get(Book.class, CountCache.ALL, () -> 10));
+        assertEquals(2, cache.get(Order.class, CountCache.ALL, () -> 20));
+    }
+
+    @Test
+    void get_InvalidatedWhileCounting_DoesNotKeepStaleValue() {
+        CountCache cache = new CountCache(Duration.ofMinutes(1));
+
+        long stale = cache.get(Book.class, CountCache.ALL, () -> {
+            cache.invalidate(Book.class);
+            return 3;
+        });
+
+        assertEquals(3, stale);
+        assertEquals(4, cache.get(Book.class, CountCache.ALL, () -> 4));
+    }
+
+    @Test
+    void get_ExpiredEntry_IsRecounted() {
+        CountCache cache = new CountCache(Duration.ZERO);
+
+        cache.get(Book.class, CountCache.ALL, () -> 1);
+
+        assertEquals(2, cache.get(Book.class, CountCache.ALL, () -> 2));
+    }
+}
@@ -0,0 +1,90 @@
+package com.epam.rd.autocode.spring.project.checkout;
+
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
+import com.epam.rd.autocode.spring.project.support.ConcurrencyHarness;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+    private static final String CLIENT = "client@test.com";
+
+    private final IdempotencyStore store = new IdempotencyStore(2, Duration.ofMinutes(1));
+    private final AtomicInteger checkouts = new AtomicInteger();
+
+    @Test
+    void execute_SameKey_ReturnsOriginalOrder() {
+        OrderDTO first = store.execute(CLIENT, "k-1", this::placeOrder);
+        OrderDTO second = store.execute(CLIENT, "k-1", this::placeOrder);
+
+        assertSame(first, second);
+        assertEquals(1, checkouts.get());
+        assertTrue(store.contains(CLIENT, "k-1"));
+    }
+
+    @Test
+    void execute_SameKeyOtherClient_PlacesNewOrder() {
+        store.execute(CLIENT, "k-1", this::placeOrder);
+        store.execute("other@test.com", "k-1", this::placeOrder);
+
+        assertEquals(2, checkouts.get());
+    }
+
+    @Test
+    void execute_Failure_AllowsRetry() {
+        assertThrows(InsufficientFundsException.class, () -> store.execute(CLIENT, "k-1", () -> {
+            throw new InsufficientFundsException("Not enough funds!");
+        }));
+
+        assertFalse(store.contains(CLIENT, "k-1"));
+        store.execute(CLIENT, "k-1", this::placeOrder);
+        assertEquals(1, checkouts.get());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicates_WaitForFirstOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        ConcurrencyHarness.Result result = ConcurrencyHarness.run(8, 1, () -> store.execute(CLIENT, "k-1", () -> {
+            try {
+                release.await(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return placeOrder();
+        }));
+
+        assertEquals(8, result.succeeded());
+        assertEquals(1, checkouts.get());
+    }
+
+    @Test
+    void execute_BeyondCapacity_ForgetsOldestKey() {
+        store.execute(CLIENT, "k-1", this::placeOrder);
+        store.execute(CLIENT, "k-2", this::placeOrder);
+        store.execute(CLIENT, "k-3", this::placeOrder);
+
+        assertFalse(store.contains(CLIENT, "k-1"));
+        assertTrue(store.contains(CLIENT, "k-3"));
+    }
+
+    @Test
+    void contains_AfterTtl_IsFalse() throws InterruptedException {
+        IdempotencyStore expiring = new IdempotencyStore(10, Duration.ZERO);
+        expiring.execute(CLIENT, "k-1", this::placeOrder);
+        Thread.sleep(1);
+
+        assertFalse(expiring.contains(CLIENT, "k-1"));
+    }
+
+    private OrderDTO placeOrder() {
+        checkouts.incrementAndGet();
+        return new OrderDTO();
+    }
+}
@@ -0,0 +1,156 @@
+package com.epam.rd.autocode.spring.project.checkout;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
+import com.epam.rd.autocode.spring.project.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderIntakeQueueTest {
+    private static final String CLIENT = "client@test.com";
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final Map<BookDTO, Integer> items = Map.of(new BookDTO(), 1);
+    private OrderIntakeQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.shutdown();
+    }
+
+    @Test
+    void submit_PlacesOrderInBackground() throws Exception {
+        OrderDTO order = new OrderDTO();
+        when(orderService.createOrder(eq(CLIENT), anyMap(), eq(BigDecimal.TEN))).thenReturn(order);
+        queue = new OrderIntakeQueue(orderService, new IdempotencyStore(100, Duration.ofMinutes(1)), true, 10, 1, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        String ticket = queue.submit(key(), CLIENT, items, BigDecimal.TEN).orElseThrow().ticket();
+
+        CheckoutStatus status = awaitDone(ticket);
+        assertEquals(CheckoutStatus.State.COMPLETED, status.state());
+        assertSame(order, status.order());
+    }
+
+    @Test
+    void submit_BusinessFailure_ReportsMessage() throws Exception {
+        when(orderService.createOrder(any(), anyMap(), any())).thenThrow(new InsufficientFundsException("Not enough funds!"));
+        queue = new OrderIntakeQueue(orderService, new IdempotencyStore(100, Duration.ofMinutes(1)), true, 10, 1, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        String ticket = queue.submit(key(), CLIENT, items, BigDecimal.TEN).orElseThrow().ticket();
+
+        CheckoutStatus status = awaitDone(ticket);
+        assertEquals(CheckoutStatus.State.FAILED, status.state());
+        assertEquals("Not enough funds!", status.errorMessage());
+        assertEquals(items, status.items());
+    }
+
+    @Test
+    void submit_QueueFull_IsRefused() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(orderService.createOrder(any(), anyMap(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new OrderDTO();
+        });
+        queue = new OrderIntakeQueue(orderService, new IdempotencyStore(100, Duration.ofMinutes(1)), true, 1, 1, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        assertTrue(queue.submit(key(), CLIENT, items, BigDecimal.TEN).isPresent());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.submit(key(), CLIENT, items, BigDecimal.TEN).isPresent());
+
+        assertEquals(Optional.empty(), queue.submit(key(), CLIENT, items, BigDecimal.TEN));
+        release.countDown();
+    }
+
+    @Test
+    void getStatus_OtherClient_IsHidden() {
+        queue = new OrderIntakeQueue(orderService, new IdempotencyStore(100, Duration.ofMinutes(1)), false, 10, 1, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        String ticket = queue.submit(key(), CLIENT, items, BigDecimal.TEN).orElseThrow().ticket();
+
+        assertTrue(queue.getStatus(ticket, CLIENT).isPresent());
+        assertTrue(queue.getStatus(ticket, "other@test.com").isEmpty());
+    }
+
+    @Test
+    void acknowledge_ForgetsFinishedTicket() throws Exception {
+        when(orderService.createOrder(any(), anyMap(), any())).thenReturn(new OrderDTO());
+        queue = new OrderIntakeQueue(orderService, new IdempotencyStore(100, Duration.ofMinutes(1)), true, 10, 1, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        String ticket = queue.submit(key(), CLIENT, items, BigDecimal.TEN).orElseThrow().ticket();
+        awaitDone(ticket);
+
+        assertTrue(queue.acknowledge(ticket));
+
+        assertTrue(queue.getStatus(ticket, CLIENT).isEmpty());
+        assertFalse(queue.acknowledge(ticket));
+    }
+
+    @Test
+    void submit_SameKey_QueuesOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(any(), anyMap(), any())).thenAnswer(invocation -> {
+            release.await();
+            return new OrderDTO();
+        });
+        queue = new OrderIntakeQueue(orderService, new IdempotencyStore(100, Duration.ofMinutes(1)), true, 10, 1, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        Optional<OrderIntakeQueue.Submission> first = queue.submit("k-1", CLIENT, items, BigDecimal.TEN);
+        Optional<OrderIntakeQueue.Submission> second = queue.submit("k-1", CLIENT, items, BigDecimal.TEN);
+        release.countDown();
+
+        assertEquals(Optional.of(new OrderIntakeQueue.Submission("k-1", true)), first);
+        assertEquals(Optional.of(new OrderIntakeQueue.Submission("k-1", false)), second);
+        awaitDone("k-1");
+        verify(orderService, times(1)).createOrder(any(), anyMap(), any());
+    }
+
+    @Test
+    void shutdown_PlacesAcceptedOrdersAndRefusesNewOnes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(orderService.createOrder(any(), anyMap(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            Thread.sleep(100);
+            return new OrderDTO();
+        });
+        queue = new OrderIntakeQueue(orderService, new IdempotencyStore(100, Duration.ofMinutes(1)), true, 10, 1, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        String first = queue.submit(key(), CLIENT, items, BigDecimal.TEN).orElseThrow().ticket();
+        String second = queue.submit(key(), CLIENT, items, BigDecimal.TEN).orElseThrow().ticket();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        queue.shutdown();
+
+        assertEquals(CheckoutStatus.State.COMPLETED, queue.getStatus(first, CLIENT).orElseThrow().state());
+        assertEquals(CheckoutStatus.State.COMPLETED, queue.getStatus(second, CLIENT).orElseThrow().state());
+        assertEquals(Optional.empty(), queue.submit(key(), CLIENT, items, BigDecimal.TEN));
+    }
+
+    private static String key() {
+        return UUID.randomUUID().toString();
+    }
+
+    private CheckoutStatus awaitDone(String ticket) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            CheckoutStatus status = queue.getStatus(ticket, CLIENT).orElseThrow();
+            if (status.state() != CheckoutStatus.State.PENDING) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Checkout " + ticket + " still pending");
+    }
+}
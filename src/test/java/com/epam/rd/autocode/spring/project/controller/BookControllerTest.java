@@ -1,24 +1,41 @@
 package com.epam.rd.autocode.spring.project.controller;
 
+import com.epam.rd.autocode.spring.project.cache.CatalogPageCache;
+import com.epam.rd.autocode.spring.project.cache.CatalogVersion;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.search.FacetCounts;
+import com.epam.rd.autocode.spring.project.search.PriceRange;
 import com.epam.rd.autocode.spring.project.security.SecurityUser;
 import com.epam.rd.autocode.spring.project.service.BookService;
 import com.epam.rd.autocode.spring.project.service.ClientService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -26,7 +43,10 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookController.class)
+@Import(CatalogPageCache.class)
 class BookControllerTest {
+    // a fresh catalog version per test keeps cached catalog bodies from leaking between tests
+    private static final AtomicLong VERSIONS = new AtomicLong();
 
     @Autowired
     private MockMvc mockMvc;
@@ -37,9 +57,26 @@ class BookControllerTest {
     @MockBean
     private ClientService clientService;
 
+    @MockBean
+    private CatalogVersion catalogVersion;
+
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        version = VERSIONS.addAndGet(10);
+        when(catalogVersion.get()).thenReturn(version);
+        when(bookService.getFacetCounts(any(), any()))
+                .thenReturn(new FacetCounts(Map.of("Fantasy", 2), Map.of(), Map.of(), Map.of()));
+    }
+
     private Authentication getAuthentication(String role) {
+        return getAuthentication(role, "user");
+    }
+
+    private Authentication getAuthentication(String role, String username) {
         SecurityUser user = new SecurityUser(
-                "user",
+                username,
                 "password",
                 true,
                 true,
@@ -53,7 +90,7 @@ class BookControllerTest {
 
     @Test
     void getAllBooks_ShouldReturnListView() throws Exception {
-        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any()))
+        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any()))
                 .thenReturn(new PageImpl<>(Collections.emptyList()));
 
         mockMvc.perform(get("/books")
@@ -63,6 +100,63 @@ class BookControllerTest {
                 .andExpect(model().attributeExists("books"));
     }
 
+    @Test
+    void getAllBooks_WithCursor_ShouldUseKeysetWindow() throws Exception {
+        BookDTO book = new BookDTO();
+        ScrollPosition position = ScrollPosition.forward(Map.of("id", 7L));
+        when(bookService.getBooksAfter(eq("6,6"), anyInt(), eq("id"), anyString(), any()))
+                .thenReturn(Window.from(List.of(book), index -> position, true));
+
+        mockMvc.perform(get("/books").param("after", "6,6")
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(view().name("books/list"))
+                .andExpect(model().attribute("keyset", true))
+                .andExpect(model().attribute("nextCursor", "7,7"))
+                .andExpect(model().attributeDoesNotExist("totalPages"));
+    }
+
+    @Test
+    void getAllBooks_WithInvalidCursor_ShouldStartFromFirstWindow() throws Exception {
+        when(bookService.getBooksAfter(eq("tampered"), anyInt(), eq("price"), anyString(), any()))
+                .thenThrow(new IllegalArgumentException("Malformed cursor: tampered"));
+        when(bookService.getBooksAfter(isNull(), eq(12), eq("price"), anyString(), any()))
+                .thenReturn(Window.from(List.of(new BookDTO()), index -> ScrollPosition.keyset()));
+
+        mockMvc.perform(get("/books").param("after", "tampered").param("sort", "price").param("size", "12")
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(view().name("books/list"))
+                .andExpect(model().attribute("keyset", true))
+                .andExpect(model().attribute("pageSize", 12));
+    }
+
+    @Test
+    void getAllBooks_WithCursorOnEnumSort_ShouldLinkNextWindow() throws Exception {
+        ScrollPosition position = ScrollPosition.forward(Map.of("language", Language.GERMAN, "id", 3L));
+        when(bookService.getBooksAfter(eq("ENGLISH,1"), anyInt(), eq("language"), anyString(), any()))
+                .thenReturn(Window.from(List.of(new BookDTO()), index -> position, true));
+
+        mockMvc.perform(get("/books").param("after", "ENGLISH,1").param("sort", "language")
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("keyset", true))
+                .andExpect(model().attribute("nextCursor", "GERMAN,3"));
+    }
+
+    @Test
+    void getAllBooks_WithCursorOnUnsupportedSort_ShouldPageByOffset() throws Exception {
+        when(bookService.getAllBooks(anyInt(), anyInt(), eq("unknown"), anyString(), any(), any()))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        mockMvc.perform(get("/books").param("after", "x,1").param("sort", "unknown")
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("keyset", false));
+
+        verify(bookService, never()).getBooksAfter(any(), anyInt(), any(), any(), any());
+    }
+
     @Test
     void getBook_ShouldReturnDetailView() throws Exception {
         when(bookService.getBookByName("Java")).thenReturn(new BookDTO());
@@ -74,6 +168,193 @@ class BookControllerTest {
                 .andExpect(model().attributeExists("book"));
     }
 
+    @Test
+    void getAllBooks_WithFacets_ShouldFilterAndShowCounts() throws Exception {
+        BookFilter filter = new BookFilter("Fantasy", Language.ENGLISH, null, PriceRange.UNDER_15);
+        when(bookService.getAllBooks(0, 6, "id", "asc", null, filter))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        mockMvc.perform(get("/books")
+                        .param("genre", "Fantasy")
+                        .param("language", "ENGLISH")
+                        .param("price", "UNDER_15")
+                        .param("after", "6,6")
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("keyset", false))
+                .andExpect(model().attribute("filter", filter))
+                .andExpect(model().attributeExists("facets"));
+
+        verify(bookService).getFacetCounts(null, filter);
+        verify(bookService, never()).getBooksAfter(any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void getAllBooks_RepeatVisit_ShouldReturnNotModified() throws Exception {
+        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any()))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/books").param("page", "1").session(session)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/books").param("page", "1").session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isNotModified());
+
+        verify(bookService, times(1)).getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void getAllBooks_OtherQueryOrCatalogChange_ShouldRenderAgain() throws Exception {
+        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any()))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/books").session(session)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/books").param("page", "1").session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk());
+
+        when(catalogVersion.get()).thenReturn(version + 1);
+        mockMvc.perform(get("/books").session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllBooks_WithFlashMessage_ShouldNotSetETag() throws Exception {
+        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any()))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        mockMvc.perform(get("/books").flashAttr("cartMessage", "Added")
+                        .with(authentication(getAuthentication("ROLE_CLIENT"))))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getBook_RepeatVisit_ShouldReturnNotModified() throws Exception {
+        when(bookService.getBookByName("Java")).thenReturn(new BookDTO());
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/books/Java").session(session)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/books/Java").session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getBook_MissingBookWithMatchingETag_ShouldReturnNotFound() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        when(bookService.getBookByName("Java")).thenReturn(new BookDTO());
+        String etag = mockMvc.perform(get("/books/Java").session(session)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(bookService.getBookByName("Java")).thenThrow(new NotFoundException("Book not found with name: Java"));
+
+        mockMvc.perform(get("/books/Java").session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllBooks_OtherUser_ShouldRenderAgain() throws Exception {
+        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any()))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/books").session(session)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/books").session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(authentication(getAuthentication("ROLE_USER", "other"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllBooks_NewCsrfToken_ShouldRenderAgain() throws Exception {
+        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any()))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        String etag = mockMvc.perform(get("/books").session(new MockHttpSession())
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // a new session holds a new token, which the forms of the cached page no longer match
+        mockMvc.perform(get("/books").session(new MockHttpSession())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(authentication(getAuthentication("ROLE_USER"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllBooks_SameQueryAndRole_ShouldServeCachedBody() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setName("Cached Book");
+        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(book)));
+
+        mockMvc.perform(get("/books").param("page", "0")
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "first"))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Cached Book")));
+        mockMvc.perform(get("/books").param("page", "0")
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "second"))))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("books"))
+                .andExpect(content().string(containsString("Cached Book")))
+                // the form the cached cart button submits is rendered for each request with its own token
+                .andExpect(content().string(containsString("name=\"_csrf\"")));
+
+        verify(bookService, times(1)).getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any());
+        verify(bookService, times(1)).getFacetCounts(any(), any());
+    }
+
+    @Test
+    void getAllBooks_OtherRoleOrCatalogChange_ShouldRenderBodyAgain() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setName("Cached Book");
+        when(bookService.getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(book)));
+
+        mockMvc.perform(get("/books")
+                        .with(authentication(getAuthentication("ROLE_CLIENT"))))
+                .andExpect(content().string(containsString("form=\"cart-add\"")))
+                .andExpect(content().string(not(containsString("form=\"book-delete\""))));
+        mockMvc.perform(get("/books")
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE"))))
+                .andExpect(content().string(containsString("form=\"book-delete\"")))
+                .andExpect(content().string(containsString("formaction=\"/books/delete/Cached%20Book\"")))
+                .andExpect(content().string(not(containsString("form=\"cart-add\""))));
+
+        when(catalogVersion.get()).thenReturn(version + 1);
+        mockMvc.perform(get("/books")
+                        .with(authentication(getAuthentication("ROLE_CLIENT"))))
+                .andExpect(model().attributeExists("books"));
+
+        verify(bookService, times(3)).getAllBooks(anyInt(), anyInt(), anyString(), anyString(), any(), any());
+    }
+
     @Test
     void createBookForm_ShouldReturnAddView() throws Exception {
         mockMvc.perform(get("/books/add")
@@ -93,7 +93,7 @@ class CartControllerTest {
                         .with(authentication(getAuthentication("ROLE_CLIENT"))))
                 .andExpect(status().isOk())
                 .andExpect(view().name("orders/cart"))
-                .andExpect(model().attributeExists("cartItems", "totalPrice", "balance"));
+                .andExpect(model().attributeExists("cartItems", "totalPrice", "balance", "checkoutKey"));
     }
 
     @Test
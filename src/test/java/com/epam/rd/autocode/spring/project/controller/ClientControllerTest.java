@@ -27,6 +27,7 @@ import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
@@ -142,7 +143,9 @@ class ClientControllerTest {
                         .with(authentication(getAuthentication("ROLE_EMPLOYEE", "employee@test.com"))))
                 .andExpect(status().isOk())
                 .andExpect(view().name("client/list_admin"))
-                .andExpect(model().attributeExists("clients", "blockedEmails"));
+                .andExpect(model().attributeExists("clients"));
+
+        verify(clientService, never()).getBlockedEmails();
     }
 
     @Test
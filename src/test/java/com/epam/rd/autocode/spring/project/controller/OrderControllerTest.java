@@ -1,8 +1,13 @@
 package com.epam.rd.autocode.spring.project.controller;
 
+import com.epam.rd.autocode.spring.project.checkout.CheckoutStatus;
+import com.epam.rd.autocode.spring.project.checkout.IdempotencyStore;
+import com.epam.rd.autocode.spring.project.checkout.OrderIntakeQueue;
 import com.epam.rd.autocode.spring.project.conf.SecurityConfig;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.exception.PriceMismatchException;
 import com.epam.rd.autocode.spring.project.security.SecurityUser;
 import com.epam.rd.autocode.spring.project.security.UserBlockingFilter;
 import com.epam.rd.autocode.spring.project.service.CartService;
@@ -26,12 +31,18 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
@@ -41,7 +52,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(OrderController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, IdempotencyStore.class})
 class OrderControllerTest {
 
     @Autowired
@@ -53,6 +64,9 @@ class OrderControllerTest {
     @MockBean
     private CartService cartService;
 
+    @MockBean
+    private OrderIntakeQueue orderIntakeQueue;
+
     @MockBean
     private ClientService clientService;
 
@@ -99,12 +113,144 @@ class OrderControllerTest {
                 .andExpect(model().attributeExists("orders"));
     }
 
+    @Test
+    void getAllOrders_PendingOrder_ShouldRenderBulkCheckbox() throws Exception {
+        OrderDTO pending = new OrderDTO();
+        pending.setId(42L);
+        when(orderService.getAllOrders(anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new PageImpl<>(List.of(pending)));
+
+        mockMvc.perform(get("/orders")
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("form=\"bulkConfirm\" value=\"42\"")));
+    }
+
+    @Test
+    void confirmOrders_Selected_ShouldConfirmIds() throws Exception {
+        when(orderService.confirmOrders(List.of(1L, 2L), "emp@test.com")).thenReturn(2);
+
+        mockMvc.perform(post("/orders/confirm")
+                        .param("ids", "1", "2")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders"))
+                .andExpect(flash().attribute("confirmedCount", 2));
+    }
+
+    @Test
+    void confirmOrders_NothingSelected_ShouldConfirmNone() throws Exception {
+        mockMvc.perform(post("/orders/confirm")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("confirmedCount", 0));
+
+        verify(orderService).confirmOrders(List.of(), "emp@test.com");
+    }
+
+    @Test
+    void confirmOrders_Unassigned_ShouldConfirmAllBeforeDate() throws Exception {
+        when(orderService.confirmUnassignedOrders(LocalDateTime.of(2024, 5, 1, 0, 0), "emp@test.com")).thenReturn(7);
+
+        mockMvc.perform(post("/orders/confirm")
+                        .param("scope", "unassigned")
+                        .param("before", "2024-05-01T00:00:00")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("confirmedCount", 7));
+    }
+
+    @Test
+    void confirmOrders_AsClient_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(post("/orders/confirm")
+                        .param("scope", "unassigned")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().isForbidden());
+
+        verify(orderService, never()).confirmUnassignedOrders(any(), any());
+    }
+
+    @Test
+    void confirmOrder_Won_ShouldRedirectWithoutError() throws Exception {
+        when(orderService.confirmOrder(5L, "emp@test.com")).thenReturn(true);
+
+        mockMvc.perform(post("/orders/5/confirm")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders"))
+                .andExpect(flash().attributeCount(0));
+    }
+
+    @Test
+    void confirmOrder_LostRace_ShouldFlashError() throws Exception {
+        when(orderService.confirmOrder(5L, "emp@test.com")).thenReturn(false);
+
+        mockMvc.perform(post("/orders/5/confirm")
+                        .param("from", "pending")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders/pending"))
+                .andExpect(flash().attribute("errorMessage", "Order #5 was already confirmed by another employee."));
+    }
+
+    @Test
+    void getPendingOrders_ShouldReturnQueueView() throws Exception {
+        OrderDTO pending = new OrderDTO();
+        pending.setId(42L);
+        pending.setClientEmail("client@test.com");
+        when(orderService.getPendingOrders(0, 20)).thenReturn(new PageImpl<>(List.of(pending)));
+
+        mockMvc.perform(get("/orders/pending")
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().isOk())
+                .andExpect(view().name("orders/pending"))
+                .andExpect(content().string(containsString("/orders/42/confirm")));
+    }
+
+    @Test
+    void getPendingOrders_AsClient_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/orders/pending")
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void claimPendingOrders_ShouldFlashClaimedCount() throws Exception {
+        when(orderService.claimPendingOrders("emp@test.com", 5)).thenReturn(List.of(new OrderDTO(), new OrderDTO()));
+
+        mockMvc.perform(post("/orders/pending/claim")
+                        .param("size", "5")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders/pending"))
+                .andExpect(flash().attribute("confirmedCount", 2));
+    }
+
+    @Test
+    void claimPendingOrders_QueueEmpty_ShouldFlashError() throws Exception {
+        when(orderService.claimPendingOrders("emp@test.com", 10)).thenReturn(List.of());
+
+        mockMvc.perform(post("/orders/pending/claim")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("errorMessage"));
+    }
+
     @Test
     void createOrder_Success_ShouldRedirectToMyOrders() throws Exception {
         BookDTO book = new BookDTO();
         book.setName("Java");
         when(cartService.getCartDetails()).thenReturn(Map.of(book, 1));
         when(cartService.getTotalPrice()).thenReturn(BigDecimal.TEN);
+        when(orderService.createOrder(eq("client@test.com"), anyMap(), eq(BigDecimal.TEN))).thenReturn(new OrderDTO());
 
         mockMvc.perform(post("/orders/create")
                         .with(csrf())
@@ -116,6 +262,200 @@ class OrderControllerTest {
         verify(cartService).clearCart();
     }
 
+    @Test
+    void createOrder_SameKeyTwice_ShouldPlaceOneOrder() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setName("Java");
+        when(cartService.getCartDetails()).thenReturn(Map.of(book, 1), Collections.emptyMap());
+        when(cartService.getTotalPrice()).thenReturn(BigDecimal.TEN);
+        when(orderService.createOrder(eq("client@test.com"), anyMap(), eq(BigDecimal.TEN))).thenReturn(new OrderDTO());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/orders/create")
+                            .param("idempotencyKey", "k-1")
+                            .with(csrf())
+                            .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                    .andExpect(status().is3xxRedirection())
+                    .andExpect(redirectedUrl("/orders/my"));
+        }
+
+        verify(orderService, times(1)).createOrder(any(), any(), any());
+    }
+
+    @Test
+    void createOrder_ReplayedKeyWithNewItems_ShouldKeepCart() throws Exception {
+        BookDTO first = new BookDTO();
+        first.setName("Java");
+        BookDTO added = new BookDTO();
+        added.setName("Kotlin");
+        when(cartService.getCartDetails()).thenReturn(Map.of(first, 1), Map.of(added, 1));
+        when(cartService.getTotalPrice()).thenReturn(BigDecimal.TEN);
+        when(orderService.createOrder(eq("client@test.com"), anyMap(), eq(BigDecimal.TEN))).thenReturn(new OrderDTO());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/orders/create")
+                            .param("idempotencyKey", "replayed-key")
+                            .with(csrf())
+                            .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                    .andExpect(status().is3xxRedirection())
+                    .andExpect(redirectedUrl("/orders/my"));
+        }
+
+        verify(orderService, times(1)).createOrder(any(), any(), any());
+        verify(cartService, times(1)).clearCart();
+    }
+
+    @Test
+    void createOrder_AsyncReplayedKey_ShouldKeepCart() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setName("Kotlin");
+        when(cartService.getCartDetails()).thenReturn(Map.of(book, 1));
+        when(cartService.getTotalPrice()).thenReturn(BigDecimal.TEN);
+        when(orderIntakeQueue.isEnabled()).thenReturn(true);
+        when(orderIntakeQueue.submit(eq("k-1"), eq("client@test.com"), anyMap(), eq(BigDecimal.TEN)))
+                .thenReturn(Optional.of(new OrderIntakeQueue.Submission("k-1", false)));
+
+        mockMvc.perform(post("/orders/create")
+                        .param("idempotencyKey", "k-1")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders/status/k-1"));
+
+        verify(cartService, never()).clearCart();
+    }
+
+    @Test
+    void createOrder_Async_ShouldRedirectToStatus() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setName("Java");
+        when(cartService.getCartDetails()).thenReturn(Map.of(book, 1));
+        when(cartService.getTotalPrice()).thenReturn(BigDecimal.TEN);
+        when(orderIntakeQueue.isEnabled()).thenReturn(true);
+        when(orderIntakeQueue.submit(anyString(), eq("client@test.com"), anyMap(), eq(BigDecimal.TEN))).thenReturn(Optional.of(new OrderIntakeQueue.Submission("t-1", true)));
+
+        mockMvc.perform(post("/orders/create")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders/status/t-1"));
+
+        verify(orderService, never()).createOrder(any(), any(), any());
+        verify(cartService).clearCart();
+    }
+
+    @Test
+    void createOrder_AsyncQueueFull_ShouldRedirectToCart() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setName("Java");
+        when(cartService.getCartDetails()).thenReturn(Map.of(book, 1));
+        when(orderIntakeQueue.isEnabled()).thenReturn(true);
+        when(orderIntakeQueue.submit(any(), any(), anyMap(), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/orders/create")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/cart"))
+                .andExpect(flash().attributeExists("errorMessage"));
+
+        verify(cartService, never()).clearCart();
+    }
+
+    @Test
+    void createOrder_AsyncResubmitted_ShouldRedirectToQueuedStatus() throws Exception {
+        when(cartService.getCartDetails()).thenReturn(Collections.emptyMap());
+        when(orderIntakeQueue.isEnabled()).thenReturn(true);
+        when(orderIntakeQueue.getStatus("k-1", "client@test.com"))
+                .thenReturn(Optional.of(new CheckoutStatus(CheckoutStatus.State.PENDING, null, null, Map.of(), Map.of())));
+
+        mockMvc.perform(post("/orders/create")
+                        .param("idempotencyKey", "k-1")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders/status/k-1"));
+
+        verify(orderIntakeQueue, never()).submit(any(), any(), anyMap(), any());
+    }
+
+    @Test
+    void getCheckoutStatus_Pending_ShouldRenderProcessingPage() throws Exception {
+        when(orderIntakeQueue.getStatus("t-1", "client@test.com"))
+                .thenReturn(Optional.of(new CheckoutStatus(CheckoutStatus.State.PENDING, null, null, Map.of(), Map.of())));
+
+        mockMvc.perform(get("/orders/status/t-1")
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().isOk())
+                .andExpect(view().name("orders/processing"))
+                .andExpect(content().string(containsString("2;url=/orders/status/t-1")));
+    }
+
+    @Test
+    void getCheckoutStatus_Completed_ShouldRedirectToOrders() throws Exception {
+        OrderDTO order = new OrderDTO();
+        order.setId(3L);
+        when(orderIntakeQueue.getStatus("t-1", "client@test.com"))
+                .thenReturn(Optional.of(new CheckoutStatus(CheckoutStatus.State.COMPLETED, order, null, Map.of(), Map.of())));
+
+        mockMvc.perform(get("/orders/status/t-1")
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/orders/my"));
+
+        verify(cartService, never()).clearCart();
+        verify(orderIntakeQueue).acknowledge("t-1");
+    }
+
+    @Test
+    void getCheckoutStatus_Failed_ShouldRestoreCartAndRedirectWithError() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setName("Java");
+        Map<BookDTO, Integer> items = Map.of(book, 2);
+        when(orderIntakeQueue.getStatus("t-1", "client@test.com"))
+                .thenReturn(Optional.of(new CheckoutStatus(CheckoutStatus.State.FAILED, null, "Not enough funds!", Map.of(), items)));
+        when(orderIntakeQueue.acknowledge("t-1")).thenReturn(true);
+
+        mockMvc.perform(get("/orders/status/t-1")
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/cart"))
+                .andExpect(flash().attribute("errorMessage", "Not enough funds!"));
+
+        verify(cartService).restoreItems(items);
+        verify(cartService, never()).clearCart();
+    }
+
+    @Test
+    void createOrder_StalePrices_ShouldRefreshCartAndRedirect() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setName("Java");
+        when(cartService.getCartDetails()).thenReturn(Map.of(book, 1));
+        when(cartService.getTotalPrice()).thenReturn(BigDecimal.TEN);
+        Map<String, BigDecimal> currentPrices = Map.of("Java", new BigDecimal("12.00"));
+        when(orderService.createOrder(any(), anyMap(), any()))
+                .thenThrow(new PriceMismatchException("Prices have changed", currentPrices));
+
+        mockMvc.perform(post("/orders/create")
+                        .with(csrf())
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/cart"))
+                .andExpect(flash().attribute("errorMessage", "Prices have changed"));
+
+        verify(cartService).updatePrices(currentPrices);
+        verify(cartService, never()).clearCart();
+    }
+
+    @Test
+    void getCheckoutStatus_UnknownTicket_ShouldReturnNotFound() throws Exception {
+        when(orderIntakeQueue.getStatus("t-1", "client@test.com")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/orders/status/t-1")
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void createOrder_EmptyCart_ShouldRedirectToBooks() throws Exception {
         when(cartService.getCartDetails()).thenReturn(Collections.emptyMap());
@@ -130,13 +470,37 @@ class OrderControllerTest {
 
     @Test
     void getMyOrders_ShouldReturnMyOrdersView() throws Exception {
-        when(orderService.getOrdersByClient("client@test.com")).thenReturn(List.of(new OrderDTO()));
+        when(orderService.getOrdersByClient("client@test.com", 0, 10)).thenReturn(new PageImpl<>(List.of(new OrderDTO())));
 
         mockMvc.perform(get("/orders/my")
                         .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
                 .andExpect(status().isOk())
                 .andExpect(view().name("orders/my_orders"))
-                .andExpect(model().attributeExists("orders"));
+                .andExpect(model().attributeExists("orders"))
+                .andExpect(model().attribute("totalPages", 1));
+    }
+
+    @Test
+    void exportMyOrders_ShouldWriteCsv() throws Exception {
+        OrderDTO order = new OrderDTO();
+        order.setId(7L);
+        order.setPrice(new BigDecimal("24.99"));
+        order.setBookItems(List.of(new BookItemDTO("The \"Hidden\" Treasure", 1)));
+        when(orderService.streamOrdersByClient("client@test.com")).thenReturn(Stream.of(order));
+
+        mockMvc.perform(get("/orders/my/export")
+                        .with(authentication(getAuthentication("ROLE_CLIENT", "client@test.com"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                .andExpect(content().string(containsString("id,date,price,status,items")))
+                .andExpect(content().string(containsString("7,null,24.99,PROCESSING,\"The \"\"Hidden\"\" Treasure x1\"")));
+    }
+
+    @Test
+    void exportMyOrders_AsEmployee_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/orders/my/export")
+                        .with(authentication(getAuthentication("ROLE_EMPLOYEE", "emp@test.com"))))
+                .andExpect(status().isForbidden());
     }
 
     @Test
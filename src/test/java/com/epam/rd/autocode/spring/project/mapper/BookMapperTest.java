@@ -0,0 +1,52 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookMapperTest {
+    private final BookMapper mapper = new BookMapper();
+
+    private Book book() {
+        return new Book(1L, "Dune", "Science", AgeGroup.ADULT, new BigDecimal("15.50"),
+                LocalDate.of(1965, 8, 1), "Frank Herbert", 412, "Paperback", "Desert planet", Language.ENGLISH);
+    }
+
+    @Test
+    void toDto_CopiesAllFields() {
+        BookDTO dto = mapper.toDto(book());
+
+        assertEquals(new BookDTO("Dune", "Science", AgeGroup.ADULT, new BigDecimal("15.50"),
+                LocalDate.of(1965, 8, 1), "Frank Herbert", 412, "Paperback", "Desert planet", Language.ENGLISH), dto);
+    }
+
+    @Test
+    void toEntity_LeavesIdEmpty() {
+        Book entity = mapper.toEntity(mapper.toDto(book()));
+
+        assertNull(entity.getId());
+        assertEquals("Dune", entity.getName());
+        assertEquals(412, entity.getPages());
+    }
+
+    @Test
+    void update_SkipsNullFields() {
+        Book entity = book();
+        BookDTO changes = new BookDTO();
+        changes.setPrice(new BigDecimal("9.99"));
+
+        mapper.update(changes, entity);
+
+        assertEquals(1L, entity.getId());
+        assertEquals(new BigDecimal("9.99"), entity.getPrice());
+        assertEquals("Frank Herbert", entity.getAuthor());
+        assertEquals(Language.ENGLISH, entity.getLanguage());
+    }
+}
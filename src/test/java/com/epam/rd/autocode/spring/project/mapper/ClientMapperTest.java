@@ -0,0 +1,50 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.converter.PasswordConverter;
+import com.epam.rd.autocode.spring.project.dto.ClientDTO;
+import com.epam.rd.autocode.spring.project.model.Client;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ClientMapperTest {
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final ClientMapper mapper = new ClientMapper(new PasswordConverter(passwordEncoder));
+
+    @Test
+    void toDto_CopiesAllFields() {
+        Client client = new Client(1L, "a@a.com", "hash", "Ann", new BigDecimal("10"));
+        client.setBlocked(true);
+
+        assertEquals(new ClientDTO("a@a.com", "hash", "Ann", new BigDecimal("10"), true), mapper.toDto(client));
+    }
+
+    @Test
+    void toEntity_EncodesPassword() {
+        when(passwordEncoder.encode("raw")).thenReturn("encoded");
+
+        Client client = mapper.toEntity(new ClientDTO("a@a.com", "raw", "Ann", null, false));
+
+        assertEquals("encoded", client.getPassword());
+        assertEquals(BigDecimal.ZERO, client.getBalance());
+    }
+
+    @Test
+    void update_KeepsBalanceAndStatus() {
+        Client client = new Client(1L, "a@a.com", "hash", "Ann", new BigDecimal("10"));
+        client.setBlocked(true);
+
+        mapper.update(new ClientDTO("a@a.com", null, "Anna", BigDecimal.ZERO, false), client);
+
+        assertEquals("Anna", client.getName());
+        assertEquals("hash", client.getPassword());
+        assertEquals(new BigDecimal("10"), client.getBalance());
+        assertTrue(client.isBlocked());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+}
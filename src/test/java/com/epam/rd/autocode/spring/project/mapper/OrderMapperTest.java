@@ -0,0 +1,47 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderMapperTest {
+    private final OrderMapper mapper = new OrderMapper();
+
+    @Test
+    void toDto_FlattensClientEmployeeAndItems() {
+        Book book = new Book();
+        book.setName("Dune");
+        Employee employee = new Employee();
+        employee.setEmail("emp@test.com");
+        Order order = new Order();
+        order.setId(5L);
+        order.setClient(new Client(1L, "a@a.com", "hash", "Ann", BigDecimal.TEN));
+        order.setEmployee(employee);
+        order.setOrderDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        order.setPrice(new BigDecimal("31.00"));
+        order.getBookItems().add(new BookItem(1L, 2, book, order));
+
+        OrderDTO dto = mapper.toDto(order);
+
+        assertEquals(5L, dto.getId());
+        assertEquals("a@a.com", dto.getClientEmail());
+        assertEquals("emp@test.com", dto.getEmployeeEmail());
+        assertEquals(new BigDecimal("31.00"), dto.getPrice());
+        assertEquals(List.of(new BookItemDTO("Dune", 2)), dto.getBookItems());
+    }
+
+    @Test
+    void toDto_UnconfirmedOrderHasNoEmployee() {
+        Order order = new Order();
+        order.setClient(new Client(1L, "a@a.com", "hash", "Ann", BigDecimal.TEN));
+
+        assertNull(mapper.toDto(order).getEmployeeEmail());
+    }
+}
@@ -0,0 +1,124 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.util.BookCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private static Book book(String name, String price) {
+        return new Book(null, name, "Genre", AgeGroup.ADULT, new BigDecimal(price), LocalDate.of(2020, 1, 1),
+                "Author", 100, "Characteristics", "Description", Language.ENGLISH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        bookRepository.saveAll(List.of(
+                book("Keyset A", "10.00"),
+                book("Keyset B", "10.00"),
+                book("Keyset C", "10.00"),
+                book("Keyset D", "5.00"),
+                book("Keyset E", "20.00")
+        ));
+    }
+
+    @Test
+    void findAllBy_WalksAllRowsWithDuplicateSortKeys() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "price");
+        List<String> names = new ArrayList<>();
+
+        Window<Book> window = bookRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2));
+        names.addAll(window.map(Book::getName).getContent());
+        while (window.hasNext()) {
+            window = bookRepository.findAllBy(window.positionAt(window.size() - 1), sort, Limit.of(2));
+            names.addAll(window.map(Book::getName).getContent());
+        }
+
+        assertEquals(List.of("Keyset D", "Keyset A", "Keyset B", "Keyset C", "Keyset E"), names);
+    }
+
+    @Test
+    void findAllBy_EnumSortKey_WalksAllRowsThroughCursors() {
+        List<Book> books = bookRepository.findAll();
+        books.forEach(book -> book.setLanguage(book.getName().endsWith("D") ? Language.GERMAN : Language.ENGLISH));
+        bookRepository.saveAll(books);
+        Sort sort = Sort.by("language");
+        List<String> names = new ArrayList<>();
+
+        Window<Book> window = bookRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2));
+        names.addAll(window.map(Book::getName).getContent());
+        while (window.hasNext()) {
+            String cursor = BookCursor.encode(window.positionAt(window.size() - 1), "language");
+            window = bookRepository.findAllBy(BookCursor.decode(cursor, "language"), sort, Limit.of(2));
+            names.addAll(window.map(Book::getName).getContent());
+        }
+
+        assertEquals(5, names.size());
+        assertEquals("Keyset D", names.get(4));
+    }
+
+    @Test
+    void findAllByIdIn_RestrictsWindowToIds() {
+        List<Long> ids = bookRepository.findAll().stream()
+                .filter(b -> b.getPrice().compareTo(new BigDecimal("10.00")) == 0)
+                .map(Book::getId)
+                .toList();
+
+        Window<Book> window = bookRepository.findAllByIdIn(ids, ScrollPosition.keyset(),
+                Sort.by(Sort.Direction.DESC, "name"), Limit.of(5));
+
+        assertEquals(List.of("Keyset C", "Keyset B", "Keyset A"), window.map(Book::getName).getContent());
+        assertFalse(window.hasNext());
+    }
+
+    @Test
+    void findAllIds_OrdersBySortWithIdTieBreak() {
+        List<Long> expected = bookRepository.findAll(Sort.by("price").and(Sort.by("id"))).stream()
+                .map(Book::getId)
+                .toList();
+
+        assertEquals(expected, bookRepository.findAllIds(Sort.by("price").and(Sort.by("id"))));
+        assertEquals(5, expected.size());
+    }
+
+    @Test
+    void findByNameContaining_MatchesCaseInsensitiveSubstring() {
+        Window<Book> window = bookRepository
+                .findByNameContainingIgnoreCaseOrAuthorContainingIgnoreCaseOrGenreContainingIgnoreCase(
+                        "set e", "set e", "set e", ScrollPosition.keyset(), Sort.by("id"), Limit.of(5));
+
+        assertEquals(List.of("Keyset E"), window.map(Book::getName).getContent());
+    }
+
+    @Test
+    void findAllByFacets_NullParametersAreIgnored() {
+        Pageable byName = PageRequest.of(0, 10, Sort.by("name"));
+
+        assertEquals(5, bookRepository.findAllByFacets(null, null, null, null, null, null, byName).size());
+        assertEquals(List.of("Keyset A", "Keyset B", "Keyset C"), bookRepository.findAllByFacets(
+                        null, "Genre", Language.ENGLISH, AgeGroup.ADULT, new BigDecimal("10"), new BigDecimal("15"), byName)
+                .stream().map(Book::getName).toList());
+        assertEquals(List.of("Keyset E"), bookRepository.findAllByFacets(
+                        "set e", null, null, null, new BigDecimal("10"), null, byName)
+                .stream().map(Book::getName).toList());
+        assertTrue(bookRepository.findAllByFacets(null, null, Language.GERMAN, null, null, null, byName).isEmpty());
+    }
+}
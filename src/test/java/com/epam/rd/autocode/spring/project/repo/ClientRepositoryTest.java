@@ -0,0 +1,47 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.Client;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ClientRepositoryTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Client client(String email, boolean blocked) {
+        Client client = new Client(null, email, "hash", "Name", BigDecimal.ZERO);
+        client.setBlocked(blocked);
+        return client;
+    }
+
+    @Test
+    void findBlockedEmails_ReturnsOnlyBlockedClients() {
+        clientRepository.saveAll(List.of(client("blocked@repo.com", true), client("active@repo.com", false)));
+
+        List<String> emails = clientRepository.findBlockedEmails();
+
+        assertTrue(emails.contains("blocked@repo.com"));
+        assertFalse(emails.contains("active@repo.com"));
+    }
+
+    @Test
+    void blockedFilter_UsesIsBlockedIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT email FROM clients WHERE is_blocked = TRUE", String.class);
+
+        assertNotNull(plan);
+        assertTrue(plan.toUpperCase().contains("IDX_CLIENTS_IS_BLOCKED"), plan);
+    }
+}
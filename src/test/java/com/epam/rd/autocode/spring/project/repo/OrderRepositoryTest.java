@@ -0,0 +1,185 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.mapper.OrderMapper;
+import com.epam.rd.autocode.spring.project.model.*;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTest {
+    private static final int ORDERS = 30;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final OrderMapper orderMapper = new OrderMapper();
+
+    @BeforeEach
+    void setUp() {
+        Client client = entityManager.persist(new Client(null, "history@repo.com", "hash", "History", BigDecimal.ZERO));
+        Employee employee = entityManager.persist(new Employee(null, "staff@repo.com", "hash", "Staff",
+                LocalDate.of(1990, 1, 1), "555-000-0000"));
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setClient(client);
+            order.setEmployee(i % 2 == 0 ? employee : null);
+            order.setOrderDate(LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(i));
+            order.setPrice(BigDecimal.TEN);
+            for (int j = 0; j < 2; j++) {
+                Book book = entityManager.persist(new Book(null, "History " + i + "-" + j, "Genre", AgeGroup.ADULT,
+                        BigDecimal.ONE, LocalDate.of(2020, 1, 1), "Author", 100, "Characteristics", "Description",
+                        Language.ENGLISH));
+                order.getBookItems().add(new BookItem(null, 1, book, order));
+            }
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllByClientEmail_LoadsHistoryInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderDTO> history = orderRepository.findAllByClientEmail("history@repo.com").stream()
+                .map(orderMapper::toDto)
+                .toList();
+
+        assertEquals(ORDERS, history.size());
+        assertEquals(2 * ORDERS, history.stream().mapToInt(order -> order.getBookItems().size()).sum());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllByEmployeeEmail_LoadsHistoryInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderDTO> handled = orderRepository.findAllByEmployeeEmail("staff@repo.com").stream()
+                .map(orderMapper::toDto)
+                .toList();
+
+        assertEquals(ORDERS / 2, handled.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findIdsByClientEmail_PagesNewestFirstInTwoStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Sort newest = Sort.by(Sort.Direction.DESC, "orderDate", "id");
+
+        List<Long> ids = orderRepository.findIdsByClientEmail("history@repo.com", PageRequest.of(1, 10, newest));
+        List<Order> page = orderRepository.findAllByIdIn(ids, newest);
+
+        assertEquals(10, page.size());
+        assertEquals(LocalDateTime.of(2024, 1, 20, 0, 0), page.get(0).getOrderDate());
+        assertEquals(20, page.stream().mapToInt(order -> order.getBookItems().size()).sum());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(ORDERS, orderRepository.countByClientEmail("history@repo.com"));
+    }
+
+    @Test
+    void findIdsByClientEmailBefore_ContinuesInHistoryOrder() {
+        Sort newest = Sort.by(Sort.Direction.DESC, "orderDate", "id");
+        List<Long> all = orderRepository.findIdsByClientEmail("history@repo.com", PageRequest.of(0, ORDERS, newest));
+        Long last = all.get(11);
+        LocalDateTime lastDate = orderRepository.findOrderDateById(last).orElseThrow();
+
+        List<Long> next = orderRepository.findIdsByClientEmailBefore("history@repo.com", lastDate, last, Limit.of(100));
+
+        assertEquals(all.subList(12, ORDERS), next);
+    }
+
+    @Test
+    void findIdsByClientEmailBefore_BreaksDateTiesById() {
+        Client client = entityManager.persist(new Client(null, "ties@repo.com", "hash", "Ties", BigDecimal.ZERO));
+        LocalDateTime same = LocalDateTime.of(2024, 6, 1, 12, 0);
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order();
+            order.setClient(client);
+            order.setOrderDate(same);
+            order.setPrice(BigDecimal.TEN);
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        List<Long> all = orderRepository.findIdsByClientEmail("ties@repo.com",
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "orderDate", "id")));
+
+        List<Long> next = orderRepository.findIdsByClientEmailBefore("ties@repo.com", same, all.get(0), Limit.of(3));
+
+        assertEquals(all.subList(1, 3), next);
+    }
+
+    @Test
+    void assignEmployee_SkipsOrdersAlreadyConfirmed() {
+        Employee other = entityManager.persistAndFlush(new Employee(null, "other@repo.com", "hash", "Other",
+                LocalDate.of(1991, 1, 1), "555-000-0001"));
+        List<Long> ids = orderRepository.findIdsByClientEmail("history@repo.com", PageRequest.of(0, ORDERS));
+
+        int confirmed = orderRepository.assignEmployee(other, ids);
+        entityManager.clear();
+
+        assertEquals(ORDERS / 2, confirmed);
+        assertEquals(ORDERS / 2, orderRepository.findAllByEmployeeEmail("staff@repo.com").size());
+        assertEquals(ORDERS / 2, orderRepository.findAllByEmployeeEmail("other@repo.com").size());
+    }
+
+    @Test
+    void assignEmployeeToUnassignedBefore_OnlyTouchesOlderOrders() {
+        Employee other = entityManager.persistAndFlush(new Employee(null, "other@repo.com", "hash", "Other",
+                LocalDate.of(1991, 1, 1), "555-000-0001"));
+
+        // orders are one day apart starting 2024-01-01; the odd days up to the 10th are unassigned
+        int confirmed = orderRepository.assignEmployeeToUnassignedBefore(other, LocalDateTime.of(2024, 1, 11, 0, 0));
+
+        assertEquals(5, confirmed);
+    }
+
+    @Test
+    void findUnassignedIds_PagesOldestFirst() {
+        List<Long> ids = orderRepository.findUnassignedIds(PageRequest.of(0, 3, Sort.by("orderDate", "id")));
+        List<LocalDateTime> dates = orderRepository.findAllByIdIn(ids, Sort.by("orderDate")).stream()
+                .map(Order::getOrderDate)
+                .toList();
+
+        // every second order, starting with the one on 2024-01-02, is unassigned
+        assertEquals(List.of(LocalDateTime.of(2024, 1, 2, 0, 0), LocalDateTime.of(2024, 1, 4, 0, 0),
+                LocalDateTime.of(2024, 1, 6, 0, 0)), dates);
+        assertEquals(ORDERS / 2, orderRepository.countByEmployeeIsNull());
+    }
+
+    @Test
+    void lockUnassignedIds_ReturnsOldestUnconfirmedOrders() {
+        assertEquals(orderRepository.findUnassignedIds(PageRequest.of(0, 4, Sort.by("orderDate", "id"))),
+                orderRepository.lockUnassignedIds(4));
+    }
+}
@@ -0,0 +1,132 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAINs the SQL Hibernate generates for the hot repository finders against the migrated schema,
+ * so a dropped or reshaped index, or a finder that stops using it, fails here instead of turning into a table scan.
+ */
+@DataJpaTest
+class QueryPlanTest {
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Direction.DESC, "orderDate", "id");
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "orderDate", "id");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private List<String> statements;
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        List<String> statements() {
+            return new CopyOnWriteArrayList<>();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(List<String> statements) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                statements.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        statements.clear();
+    }
+
+    @Test
+    void findByEmail_UsesUniqueIndex() {
+        assertUsesIndex(() -> clientRepository.findByEmail("a@b.c"), "UK_CLIENTS_EMAIL");
+        assertUsesIndex(() -> employeeRepository.findByEmail("a@b.c"), "UK_EMPLOYEES_EMAIL");
+    }
+
+    @Test
+    void findBookByName_UsesUniqueIndex() {
+        assertUsesIndex(() -> bookRepository.findByName("Book"), "UK_BOOKS_NAME");
+        assertUsesIndex(() -> bookRepository.findByNameIn(List.of("A", "B")), "UK_BOOKS_NAME");
+    }
+
+    @Test
+    void findOrdersByClientEmail_UsesClientDateIndex() {
+        assertUsesIndex(() -> orderRepository.findIdsByClientEmail("a@b.c", PageRequest.of(0, 10, HISTORY_ORDER)),
+                "IDX_ORDERS_CLIENT_DATE");
+    }
+
+    @Test
+    void findOrdersByEmployeeEmail_UsesEmployeeIndex() {
+        assertUsesIndex(() -> orderRepository.findIdsByEmployeeEmail("a@b.c", PageRequest.of(0, 10, HISTORY_ORDER)),
+                "UK_EMPLOYEES_EMAIL");
+    }
+
+    @Test
+    void findUnassignedIds_UsesEmployeeDateIndex() {
+        assertUsesIndex(() -> orderRepository.findUnassignedIds(PageRequest.of(0, 10, OLDEST_FIRST)),
+                "IDX_ORDERS_EMPLOYEE_DATE");
+    }
+
+    @Test
+    void orderLines_UseOrderIndex() {
+        // H2 may pick its own foreign key index on the same column
+        assertUsesIndex(() -> orderRepository.findAllByIdIn(List.of(1L, 2L), HISTORY_ORDER), "BOOK_ITEMS_ORDER");
+    }
+
+    /**
+     * Every statement the finder issues must avoid a table scan, and one of them must use {@code index}.
+     */
+    private void assertUsesIndex(Runnable finder, String index) {
+        statements.clear();
+        finder.run();
+        assertFalse(statements.isEmpty(), "The finder issued no SQL");
+
+        List<String> plans = statements.stream().map(this::explain).toList();
+        for (String plan : plans) {
+            assertFalse(plan.contains("tableScan"), () -> "Table scan in plan:\n" + plan);
+        }
+        assertTrue(plans.stream().anyMatch(plan -> plan.contains(index)),
+                () -> "Expected " + index + " in plans:\n" + String.join("\n", plans));
+    }
+
+    // H2 plans at prepare time, so the bound values do not change the plan
+    private String explain(String sql) {
+        return new JdbcTemplate(dataSource).query("EXPLAIN " + sql, statement -> {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+        }, (resultSet, row) -> resultSet.getString(1)).get(0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BookFacetIndexTest {
+
+    private BookFacetIndex index;
+
+    private static Book book(long id, String genre, Language language, AgeGroup ageGroup, String price) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName("Book " + id);
+        book.setGenre(genre);
+        book.setLanguage(language);
+        book.setAgeGroup(ageGroup);
+        book.setPrice(new BigDecimal(price));
+        return book;
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new BookFacetIndex(mock(BookRepository.class));
+        index.rebuild(List.of(
+                book(1L, "Fantasy", Language.ENGLISH, AgeGroup.TEEN, "12.00"),
+                book(2L, "Fantasy", Language.GERMAN, AgeGroup.ADULT, "18.50"),
+                book(3L, "Mystery", Language.ENGLISH, AgeGroup.ADULT, "24.99"),
+                book(4L, "Mystery", Language.ENGLISH, AgeGroup.ADULT, "25.00"),
+                book(5L, "Romance", Language.FRENCH, AgeGroup.ADULT, "60.00")
+        ));
+    }
+
+    @Test
+    void search_IntersectsSelectedFacets() {
+        assertEquals(Set.of(1L, 2L), index.search(new BookFilter("Fantasy", null, null, null), null));
+        assertEquals(Set.of(3L, 4L), index.search(new BookFilter(null, Language.ENGLISH, AgeGroup.ADULT, null), null));
+        assertEquals(Set.of(2L, 3L), index.search(new BookFilter(null, null, null, PriceRange.FROM_15_TO_25), null));
+        assertEquals(Set.of(4L), index.search(
+                new BookFilter("Mystery", Language.ENGLISH, AgeGroup.ADULT, PriceRange.FROM_25_TO_50), null));
+        assertTrue(index.search(new BookFilter("Horror", null, null, null), null).isEmpty());
+    }
+
+    @Test
+    void search_RestrictedToKeywordMatches() {
+        assertEquals(Set.of(3L), index.search(new BookFilter(null, Language.ENGLISH, null, null), Set.of(2L, 3L, 99L)));
+    }
+
+    @Test
+    void count_EachFacetIgnoresItsOwnSelection() {
+        FacetCounts counts = index.count(new BookFilter(null, Language.ENGLISH, AgeGroup.ADULT, null), null);
+
+        assertEquals(Map.of("Fantasy", 0, "Mystery", 2, "Romance", 0), counts.genres());
+        // languages are counted among adult books, age groups among English ones
+        assertEquals(1, counts.languages().get(Language.GERMAN));
+        assertEquals(2, counts.languages().get(Language.ENGLISH));
+        assertEquals(0, counts.languages().get(Language.JAPANESE));
+        assertEquals(1, counts.ageGroups().get(AgeGroup.TEEN));
+        assertEquals(2, counts.ageGroups().get(AgeGroup.ADULT));
+        assertEquals(Map.of(PriceRange.UNDER_15, 0, PriceRange.FROM_15_TO_25, 1,
+                PriceRange.FROM_25_TO_50, 1, PriceRange.OVER_50, 0), counts.prices());
+    }
+
+    @Test
+    void index_MovesBookBetweenFacetValues() {
+        index.index(book(1L, "Mystery", Language.ENGLISH, AgeGroup.TEEN, "55.00"));
+
+        assertEquals(Set.of(2L), index.search(new BookFilter("Fantasy", null, null, null), null));
+        assertEquals(Set.of(1L, 5L), index.search(new BookFilter(null, null, null, PriceRange.OVER_50), null));
+        assertEquals(3, index.count(new BookFilter(), null).genres().get("Mystery"));
+    }
+
+    @Test
+    void remove_FreesSlotForReuse() {
+        index.remove("Book 5");
+        index.index(book(6L, "Poetry", Language.UKRAINIAN, AgeGroup.CHILD, "9.00"));
+
+        FacetCounts counts = index.count(new BookFilter(), null);
+        assertFalse(counts.genres().containsKey("Romance"));
+        assertEquals(0, counts.languages().get(Language.FRENCH));
+        assertEquals(Set.of(6L), index.search(new BookFilter("Poetry", null, null, null), null));
+        assertEquals(Set.of(1L, 6L), index.search(new BookFilter(null, null, null, PriceRange.UNDER_15), null));
+    }
+
+    @Test
+    void count_WholeCatalogReusedUntilNextWrite() {
+        FacetCounts counts = index.count(new BookFilter(), null);
+        assertSame(counts, index.count(new BookFilter(), null));
+        assertNotSame(counts, index.count(new BookFilter(), Set.of(1L)));
+
+        index.index(book(6L, "Fantasy", Language.ENGLISH, AgeGroup.TEEN, "9.00"));
+        assertEquals(3, index.count(new BookFilter(), null).genres().get("Fantasy"));
+        index.remove("Book 6");
+        assertEquals(2, index.count(new BookFilter(), null).genres().get("Fantasy"));
+    }
+
+    @Test
+    void priceRange_BoundsAreInclusiveBelow() {
+        assertEquals(PriceRange.UNDER_15, PriceRange.of(new BigDecimal("14.99")));
+        assertEquals(PriceRange.FROM_15_TO_25, PriceRange.of(new BigDecimal("15.00")));
+        assertEquals(PriceRange.OVER_50, PriceRange.of(new BigDecimal("50")));
+    }
+}
@@ -0,0 +1,80 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import com.epam.rd.autocode.spring.project.cache.CatalogVersion;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BookSortOrderTest {
+
+    private BookRepository bookRepository;
+    private CatalogVersion catalogVersion;
+    private BookSortOrder sortOrder;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        catalogVersion = new CatalogVersion();
+        sortOrder = new BookSortOrder(bookRepository, catalogVersion);
+        when(bookRepository.findAllIds(Sort.by("name").and(Sort.by("id")))).thenReturn(List.of(5L, 2L, 4L, 1L, 3L));
+    }
+
+    @Test
+    void page_KeepsMatchesInSortOrder() {
+        Set<Long> matches = Set.of(1L, 2L, 3L, 5L);
+
+        assertEquals(Optional.of(List.of(5L, 2L)),
+                sortOrder.page(PageRequest.of(0, 2, Sort.by("name")), matches));
+        assertEquals(Optional.of(List.of(1L, 3L)),
+                sortOrder.page(PageRequest.of(1, 2, Sort.by("name")), matches));
+        assertEquals(Optional.of(List.of(3L, 1L, 2L)),
+                sortOrder.page(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "name")), matches));
+        assertEquals(Optional.of(List.of()),
+                sortOrder.page(PageRequest.of(2, 2, Sort.by("name")), matches));
+    }
+
+    @Test
+    void page_ReadsOrderOncePerCatalogVersion() {
+        sortOrder.page(PageRequest.of(0, 2, Sort.by("name")), Set.of(1L));
+        sortOrder.page(PageRequest.of(1, 2, Sort.by("name")), Set.of(1L));
+        verify(bookRepository, times(1)).findAllIds(any());
+
+        catalogVersion.bump();
+        sortOrder.page(PageRequest.of(0, 2, Sort.by("name")), Set.of(1L));
+        verify(bookRepository, times(2)).findAllIds(any());
+    }
+
+    @Test
+    void after_ContinuesFromCursorId() {
+        Set<Long> matches = Set.of(1L, 2L, 3L, 5L);
+
+        assertEquals(Optional.of(List.of(5L, 2L)), sortOrder.after(Sort.by("name"), null, 2, matches));
+        assertEquals(Optional.of(List.of(1L, 3L)), sortOrder.after(Sort.by("name"), 2L, 2, matches));
+        // the cursor id itself need not match, e.g. after a keyword change
+        assertEquals(Optional.of(List.of(1L)), sortOrder.after(Sort.by("name"), 4L, 1, matches));
+        assertEquals(Optional.of(List.of(2L, 5L)), sortOrder.after(Sort.by(Sort.Direction.DESC, "name"), 1L, 2, matches));
+        assertEquals(Optional.of(List.of()), sortOrder.after(Sort.by("name"), 3L, 2, matches));
+    }
+
+    @Test
+    void after_UnknownCursorId_ReturnsEmpty() {
+        assertTrue(sortOrder.after(Sort.by("name"), 99L, 2, Set.of(1L)).isEmpty());
+    }
+
+    @Test
+    void page_UnsupportedSort_ReturnsEmpty() {
+        assertTrue(sortOrder.page(PageRequest.of(0, 2, Sort.by("genre")), Set.of(1L)).isEmpty());
+        assertTrue(sortOrder.page(PageRequest.of(0, 2, Sort.by("name", "price")), Set.of(1L)).isEmpty());
+        verifyNoInteractions(bookRepository);
+    }
+}
@@ -0,0 +1,77 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.search.impl.InvertedBookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class InvertedBookSearchIndexTest {
+
+    private InvertedBookSearchIndex index;
+
+    private static Book book(long id, String name, String author, String genre) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        book.setGenre(genre);
+        return book;
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedBookSearchIndex(mock(BookRepository.class));
+        index.rebuild(List.of(
+                book(1L, "The Hidden Treasure", "Emily White", "Adventure"),
+                book(2L, "Echoes of Eternity", "Daniel Black", "Fantasy"),
+                book(3L, "Whispers in the Shadows", "Sophia Green", "Mystery")
+        ));
+    }
+
+    @Test
+    void search_ByWordPrefix_IsCaseInsensitive() {
+        assertEquals(Set.of(3L), index.search("SHAD"));
+        assertEquals(Set.of(1L, 3L), index.search("the"));
+    }
+
+    @Test
+    void search_MatchesAuthorAndGenre() {
+        assertEquals(Set.of(2L), index.search("daniel"));
+        assertEquals(Set.of(1L), index.search("adventure"));
+    }
+
+    @Test
+    void search_MultipleTokens_IntersectsPostings() {
+        assertEquals(Set.of(1L), index.search("the hidden"));
+        assertTrue(index.search("hidden shadows").isEmpty());
+    }
+
+    @Test
+    void search_BlankKeyword_ReturnsEmpty() {
+        assertTrue(index.search("  ").isEmpty());
+        assertTrue(index.search("--").isEmpty());
+    }
+
+    @Test
+    void index_RenamedBook_DropsOldTokens() {
+        index.index(book(2L, "Silent Night", "Daniel Black", "Fantasy"));
+
+        assertTrue(index.search("echoes").isEmpty());
+        assertEquals(Set.of(2L), index.search("silent"));
+    }
+
+    @Test
+    void remove_DropsBookFromResults() {
+        index.remove("Whispers in the Shadows");
+
+        assertTrue(index.search("whispers").isEmpty());
+        assertEquals(Set.of(1L), index.search("the"));
+    }
+}
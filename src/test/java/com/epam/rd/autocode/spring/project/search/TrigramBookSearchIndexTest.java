@@ -0,0 +1,78 @@
+package com.epam.rd.autocode.spring.project.search;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.search.impl.TrigramBookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TrigramBookSearchIndexTest {
+
+    private TrigramBookSearchIndex index;
+
+    private static Book book(long id, String name, String author, String genre) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        book.setGenre(genre);
+        return book;
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramBookSearchIndex(mock(BookRepository.class));
+        index.rebuild(List.of(
+                book(1L, "The Hidden Treasure", "Emily White", "Adventure"),
+                book(2L, "Echoes of Eternity", "Daniel Black", "Fantasy"),
+                book(3L, "Whispers in the Shadows", "Sophia Green", "Mystery")
+        ));
+    }
+
+    @Test
+    void search_Infix_MatchesLikeSemantics() {
+        assertEquals(Set.of(3L), index.search("hado"));
+        assertEquals(Set.of(3L), index.search("SHAD"));
+        assertEquals(Set.of(1L, 3L), index.search("the "));
+    }
+
+    @Test
+    void search_ShortKeywords_UseExactPostings() {
+        assertEquals(Set.of(1L, 2L, 3L), index.search("e"));
+        assertEquals(Set.of(2L), index.search("ni"));
+        assertTrue(index.search("q").isEmpty());
+    }
+
+    @Test
+    void search_GramsSpreadAcrossFields_AreNotMatched() {
+        // "white" + "adventure" share grams with "whiteadv", but no single field contains it
+        assertTrue(index.search("whiteadv").isEmpty());
+    }
+
+    @Test
+    void search_SubstringAcrossWords() {
+        assertEquals(Set.of(2L), index.search("es of et"));
+    }
+
+    @Test
+    void index_UpdatedBook_ReplacesGrams() {
+        index.index(book(2L, "Silent Night", "Daniel Black", "Fantasy"));
+
+        assertTrue(index.search("echo").isEmpty());
+        assertEquals(Set.of(2L), index.search("lent n"));
+    }
+
+    @Test
+    void remove_DropsBookFromResults() {
+        index.remove("Whispers in the Shadows");
+
+        assertTrue(index.search("whisp").isEmpty());
+        assertEquals(Set.of(1L), index.search("the "));
+    }
+}
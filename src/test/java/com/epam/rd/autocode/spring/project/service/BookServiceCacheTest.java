@@ -0,0 +1,115 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookcache",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookServiceCacheTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findByName_SecondLookup_SkipsDatabase() {
+        bookRepository.findByName("Echoes of Eternity");
+        statistics.clear();
+
+        Book book = bookRepository.findByName("Echoes of Eternity").orElseThrow();
+
+        assertEquals("Daniel Black", book.getAuthor());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void updateBookByName_ReadsSeeNewValues() {
+        String name = "The Starlight Sonata";
+        bookService.getBookByName(name);
+        BookDTO changes = new BookDTO();
+        changes.setPrice(new BigDecimal("99.99"));
+
+        bookService.updateBookByName(name, changes);
+
+        assertEquals(new BigDecimal("99.99"), bookService.getBookByName(name).getPrice());
+    }
+
+    @Test
+    void updateBookByName_Rename_MovesNaturalId() {
+        String name = "Serenade of Souls";
+        bookService.getBookByName(name);
+        BookDTO changes = new BookDTO();
+        changes.setName("Serenade of Spirits");
+
+        bookService.updateBookByName(name, changes);
+
+        assertThrows(NotFoundException.class, () -> bookService.getBookByName(name));
+        assertEquals("Serenade of Spirits", bookService.getBookByName("Serenade of Spirits").getName());
+    }
+
+    @Test
+    void deleteBookByName_EvictsBook() {
+        BookDTO book = bookService.getBookByName("Beyond the Horizon");
+        BookDTO copy = new BookDTO(book.getName(), book.getGenre(), book.getAgeGroup(), book.getPrice(),
+                book.getPublicationDate(), book.getAuthor(), book.getPages(), book.getCharacteristics(),
+                book.getDescription(), book.getLanguage());
+        copy.setName("Cached Then Deleted");
+        bookService.addBook(copy);
+        bookService.getBookByName("Cached Then Deleted");
+
+        bookService.deleteBookByName("Cached Then Deleted");
+
+        assertThrows(NotFoundException.class, () -> bookService.getBookByName("Cached Then Deleted"));
+    }
+
+    @Test
+    void checkout_DoesNotEvictBooks() {
+        String name = "The Hidden Treasure";
+        BookDTO book = bookService.getBookByName(name);
+        OrderDTO order = new OrderDTO();
+        order.setClientEmail("client1@example.com");
+        order.setPrice(book.getPrice());
+        order.setBookItems(List.of(new BookItemDTO(name, 1)));
+
+        orderService.addOrder(order);
+        statistics.clear();
+
+        bookRepository.findByName(name);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,25 +1,39 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.cache.BookCache;
+import com.epam.rd.autocode.spring.project.cache.CatalogSnapshot;
+import com.epam.rd.autocode.spring.project.cache.CatalogVersion;
+import com.epam.rd.autocode.spring.project.cache.CountCache;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.mapper.BookMapper;
 import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
 import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.search.BookFacetIndex;
+import com.epam.rd.autocode.spring.project.search.BookSearchIndex;
+import com.epam.rd.autocode.spring.project.search.BookSortOrder;
+import com.epam.rd.autocode.spring.project.search.FacetCounts;
+import com.epam.rd.autocode.spring.project.search.PriceRange;
 import com.epam.rd.autocode.spring.project.service.impl.BookServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,7 +46,28 @@ class BookServiceImplTest {
     private BookRepository bookRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private BookMapper bookMapper;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Spy
+    private CountCache countCache = new CountCache(Duration.ofMinutes(1));
+
+    @Spy
+    private BookCache bookCache = new BookCache(100, Duration.ofMinutes(1));
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    @Mock
+    private BookSortOrder bookSortOrder;
 
     @InjectMocks
     private BookServiceImpl bookService;
@@ -42,16 +77,108 @@ class BookServiceImplTest {
         Pageable pageable = PageRequest.of(0, 5);
         Book book = new Book();
         BookDTO bookDTO = new BookDTO();
-        Page<Book> bookPage = new PageImpl<>(List.of(book));
 
-        when(bookRepository.findAll(pageable)).thenReturn(bookPage);
-        when(modelMapper.map(book, BookDTO.class)).thenReturn(bookDTO);
+        when(bookRepository.findAllBy(pageable)).thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         Page<BookDTO> result = bookService.getAllBooks(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(bookRepository).findAll(pageable);
+        verify(bookRepository).findAllBy(pageable);
+    }
+
+    @Test
+    void getAllBooks_FullPages_CountIsCachedUntilWrite() {
+        Pageable pageable = PageRequest.of(0, 1);
+        Book book = new Book();
+        Book savedBook = new Book();
+        BookDTO dto = new BookDTO();
+        dto.setName("New Book");
+
+        when(bookRepository.findAllBy(pageable)).thenReturn(List.of(book));
+        when(bookRepository.count()).thenReturn(10L, 11L);
+        when(bookMapper.toDto(any())).thenReturn(new BookDTO());
+
+        assertEquals(10, bookService.getAllBooks(pageable).getTotalElements());
+        assertEquals(10, bookService.getAllBooks(pageable).getTotalElements());
+        verify(bookRepository, times(1)).count();
+
+        when(bookMapper.toEntity(dto)).thenReturn(book);
+        when(bookRepository.save(book)).thenReturn(savedBook);
+        bookService.addBook(dto);
+
+        assertEquals(11, bookService.getAllBooks(pageable).getTotalElements());
+        verify(bookRepository, times(2)).count();
+    }
+
+    @Test
+    void getAllBooks_SnapshotMode_SkipsDatabase() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "price"));
+        Page<BookDTO> snapshotPage = new PageImpl<>(List.of(new BookDTO()), pageable, 1);
+        when(catalogSnapshot.isEnabled()).thenReturn(true);
+        when(bookSearchIndex.search("Java")).thenReturn(Set.of(1L));
+        when(catalogSnapshot.page(pageable, Set.of(1L))).thenReturn(Optional.of(snapshotPage));
+
+        Page<BookDTO> result = bookService.getAllBooks(0, 5, "price", "desc", " Java ");
+
+        assertSame(snapshotPage, result);
+        verifyNoInteractions(bookRepository, bookMapper);
+    }
+
+    @Test
+    void getAllBooks_SnapshotCannotSort_QueriesDatabase() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "genre"));
+        when(catalogSnapshot.isEnabled()).thenReturn(true);
+        when(catalogSnapshot.page(pageable, null)).thenReturn(Optional.empty());
+        when(bookRepository.findAllBy(pageable)).thenReturn(List.of());
+
+        bookService.getAllBooks(0, 5, "genre", "asc", null);
+
+        verify(bookRepository).findAllBy(pageable);
+    }
+
+    @Test
+    void getAllBooks_WithFacets_PagesFacetMatches() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "name"));
+        BookFilter filter = new BookFilter("Fantasy", null, null, null);
+        Book book = new Book();
+        when(bookSearchIndex.search("dark")).thenReturn(Set.of(1L, 2L));
+        when(bookFacetIndex.search(filter, Set.of(1L, 2L))).thenReturn(Set.of(2L));
+        when(bookRepository.findAllByIdIn(Set.of(2L), pageable)).thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(new BookDTO());
+
+        Page<BookDTO> result = bookService.getAllBooks(0, 5, "name", "asc", "dark", filter);
+
+        assertEquals(1, result.getTotalElements());
+        verify(bookRepository, never()).countByKeyword(anyString());
+    }
+
+    @Test
+    void getAllBooks_NonSelectiveFacets_QueriesByFacets() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "id"));
+        BookFilter filter = new BookFilter(" ", Language.ENGLISH, null, PriceRange.FROM_15_TO_25);
+        Set<Long> ids = LongStream.rangeClosed(1, BookSearchIndex.MAX_SELECTIVE_MATCHES + 1).boxed()
+                .collect(Collectors.toSet());
+        when(bookFacetIndex.search(filter, null)).thenReturn(ids);
+        when(bookRepository.findAllByFacets(null, null, Language.ENGLISH, null,
+                PriceRange.FROM_15_TO_25.getMin(), PriceRange.FROM_15_TO_25.getMax(), pageable))
+                .thenReturn(Collections.nCopies(5, new Book()));
+
+        Page<BookDTO> result = bookService.getAllBooks(0, 5, "id", "asc", null, filter);
+
+        assertEquals(ids.size(), result.getTotalElements());
+        verify(bookRepository, never()).count();
+    }
+
+    @Test
+    void getFacetCounts_UsesKeywordMatches() {
+        BookFilter filter = new BookFilter();
+        FacetCounts counts = new FacetCounts(Map.of(), Map.of(), Map.of(), Map.of());
+        when(bookSearchIndex.search("dark")).thenReturn(Set.of(1L));
+        when(bookFacetIndex.count(filter, Set.of(1L))).thenReturn(counts);
+
+        assertSame(counts, bookService.getFacetCounts(" dark ", filter));
     }
 
     @Test
@@ -64,16 +191,69 @@ class BookServiceImplTest {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, sort));
         Book book = new Book();
         BookDTO bookDTO = new BookDTO();
-        Page<Book> bookPage = new PageImpl<>(List.of(book));
 
-        when(bookRepository.findAllByKeyword(keyword, pageable)).thenReturn(bookPage);
-        when(modelMapper.map(book, BookDTO.class)).thenReturn(bookDTO);
+        when(bookSearchIndex.search(keyword)).thenReturn(Set.of(1L));
+        when(bookRepository.findAllByIdIn(Set.of(1L), pageable)).thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         Page<BookDTO> result = bookService.getAllBooks(page, size, sort, direction, keyword);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(bookRepository).findAllByKeyword(keyword, pageable);
+        verify(bookRepository).findAllByIdIn(Set.of(1L), pageable);
+        verify(bookRepository, never()).findAllByKeyword(anyString(), any());
+    }
+
+    @Test
+    void getAllBooks_NonSelectiveKeyword_PagesFromSortOrder() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "name"));
+        Set<Long> ids = LongStream.rangeClosed(1, BookSearchIndex.MAX_SELECTIVE_MATCHES + 1)
+                .boxed()
+                .collect(Collectors.toSet());
+        Book first = new Book();
+        first.setId(7L);
+        Book second = new Book();
+        second.setId(3L);
+        BookDTO firstDto = new BookDTO();
+        BookDTO secondDto = new BookDTO();
+        when(bookSearchIndex.search("e")).thenReturn(ids);
+        when(bookSortOrder.page(pageable, ids)).thenReturn(Optional.of(List.of(7L, 3L)));
+        when(bookRepository.findAllById(List.of(7L, 3L))).thenReturn(List.of(second, first));
+        when(bookMapper.toDto(first)).thenReturn(firstDto);
+        when(bookMapper.toDto(second)).thenReturn(secondDto);
+
+        Page<BookDTO> result = bookService.getAllBooks(0, 2, "name", "asc", "e");
+
+        assertEquals(List.of(firstDto, secondDto), result.getContent());
+        assertEquals(ids.size(), result.getTotalElements());
+        verify(bookRepository, never()).findAllByKeyword(anyString(), any());
+        verify(bookRepository, never()).countByKeyword(anyString());
+    }
+
+    @Test
+    void getAllBooks_NonSelectiveKeywordUnsupportedSort_FallsBackToLikeQuery() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "genre"));
+        Set<Long> ids = LongStream.rangeClosed(1, BookSearchIndex.MAX_SELECTIVE_MATCHES + 1)
+                .boxed()
+                .collect(Collectors.toSet());
+        when(bookSearchIndex.search("e")).thenReturn(ids);
+        when(bookSortOrder.page(pageable, ids)).thenReturn(Optional.empty());
+        when(bookRepository.findAllByKeyword("e", pageable)).thenReturn(List.of());
+
+        bookService.getAllBooks(0, 5, "genre", "asc", "e");
+
+        verify(bookRepository).findAllByKeyword("e", pageable);
+        verify(bookRepository, never()).findAllByIdIn(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllBooks_KeywordWithoutMatches_SkipsRepository() {
+        when(bookSearchIndex.search("nothing")).thenReturn(Set.of());
+
+        Page<BookDTO> result = bookService.getAllBooks(0, 5, "name", "asc", "nothing");
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
@@ -84,14 +264,13 @@ class BookServiceImplTest {
         String direction = "desc";
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sort));
         Book book = new Book();
-        Page<Book> bookPage = new PageImpl<>(List.of(book));
 
-        when(bookRepository.findAll(pageable)).thenReturn(bookPage);
-        when(modelMapper.map(any(Book.class), eq(BookDTO.class))).thenReturn(new BookDTO());
+        when(bookRepository.findAllBy(pageable)).thenReturn(List.of(book));
+        when(bookMapper.toDto(any())).thenReturn(new BookDTO());
 
         bookService.getAllBooks(page, size, sort, direction, null);
 
-        verify(bookRepository).findAll(pageable);
+        verify(bookRepository).findAllBy(pageable);
     }
 
     @Test
@@ -103,7 +282,7 @@ class BookServiceImplTest {
         bookDTO.setName(name);
 
         when(bookRepository.findByName(name)).thenReturn(Optional.of(book));
-        when(modelMapper.map(book, BookDTO.class)).thenReturn(bookDTO);
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         BookDTO result = bookService.getBookByName(name);
 
@@ -118,6 +297,51 @@ class BookServiceImplTest {
         assertThrows(NotFoundException.class, () -> bookService.getBookByName(name));
     }
 
+    @Test
+    void getBookByName_RepeatedLookup_ServedFromCache() {
+        String name = "Popular Book";
+        Book book = new Book();
+        BookDTO bookDTO = new BookDTO();
+        when(bookRepository.findByName(name)).thenReturn(Optional.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
+
+        BookDTO first = bookService.getBookByName(name);
+        BookDTO second = bookService.getBookByName(name);
+
+        assertSame(first, second);
+        verify(bookRepository, times(1)).findByName(name);
+        assertEquals(1, bookCache.stats().hitCount());
+        assertEquals(1, bookCache.stats().missCount());
+    }
+
+    @Test
+    void getBookByName_NotFound_IsNotCached() {
+        String name = "Coming Soon";
+        when(bookRepository.findByName(name)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookService.getBookByName(name));
+        assertThrows(NotFoundException.class, () -> bookService.getBookByName(name));
+
+        verify(bookRepository, times(2)).findByName(name);
+    }
+
+    @Test
+    void updateBookByName_InvalidatesCachedBook() {
+        String name = "Cached Book";
+        Book book = new Book();
+        when(bookRepository.findByName(name)).thenReturn(Optional.of(book));
+        when(bookRepository.save(book)).thenReturn(book);
+        when(bookMapper.toDto(book)).thenReturn(new BookDTO());
+        bookService.getBookByName(name);
+
+        bookService.updateBookByName(name, new BookDTO());
+        bookService.getBookByName(name);
+
+        verify(bookCache).invalidate(name);
+        verify(catalogVersion).bump();
+        assertEquals(2, bookCache.stats().missCount());
+    }
+
     @Test
     void updateBookByName_Exists_ReturnsUpdatedDTO() {
         String name = "Old Name";
@@ -127,10 +351,9 @@ class BookServiceImplTest {
         Book savedBook = new Book();
 
         when(bookRepository.findByName(name)).thenReturn(Optional.of(existingBook));
-        doNothing().when(modelMapper).map(any(BookDTO.class), any(Book.class));
 
         when(bookRepository.save(existingBook)).thenReturn(savedBook);
-        when(modelMapper.map(savedBook, BookDTO.class)).thenReturn(updateInfo);
+        when(bookMapper.toDto(savedBook)).thenReturn(updateInfo);
 
         BookDTO result = bookService.updateBookByName(name, updateInfo);
 
@@ -155,6 +378,11 @@ class BookServiceImplTest {
         bookService.deleteBookByName(name);
 
         verify(bookRepository).deleteByName(name);
+        verify(bookSearchIndex).remove(name);
+        verify(bookFacetIndex).remove(name);
+        verify(bookCache).invalidate(name);
+        verify(catalogSnapshot).remove(name);
+        assertEquals(1, catalogVersion.get());
     }
 
     @Test
@@ -164,6 +392,7 @@ class BookServiceImplTest {
 
         assertThrows(NotFoundException.class, () -> bookService.deleteBookByName(name));
         verify(bookRepository, never()).deleteByName(anyString());
+        verify(catalogVersion, never()).bump();
     }
 
     @Test
@@ -175,14 +404,18 @@ class BookServiceImplTest {
         savedBook.setId(1L);
 
         when(bookRepository.existsByName(dto.getName())).thenReturn(false);
-        when(modelMapper.map(dto, Book.class)).thenReturn(book);
+        when(bookMapper.toEntity(dto)).thenReturn(book);
         when(bookRepository.save(book)).thenReturn(savedBook);
-        when(modelMapper.map(savedBook, BookDTO.class)).thenReturn(dto);
+        when(bookMapper.toDto(savedBook)).thenReturn(dto);
 
         BookDTO result = bookService.addBook(dto);
 
         assertNotNull(result);
         verify(bookRepository).save(book);
+        verify(bookSearchIndex).index(savedBook);
+        verify(bookFacetIndex).index(savedBook);
+        verify(catalogSnapshot).put(savedBook);
+        verify(catalogVersion).bump();
     }
 
     @Test
@@ -194,4 +427,59 @@ class BookServiceImplTest {
         assertThrows(AlreadyExistException.class, () -> bookService.addBook(dto));
         verify(bookRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBooksAfter_WithoutKeyword_ScrollsFromCursor() {
+        Book book = new Book();
+        BookDTO bookDTO = new BookDTO();
+        ScrollPosition position = ScrollPosition.forward(Map.of("name", "Dune", "id", 3L));
+        Window<Book> window = Window.from(List.of(book), index -> position);
+
+        when(bookRepository.findAllBy(position, Sort.by(Sort.Direction.ASC, "name"), Limit.of(5))).thenReturn(window);
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
+
+        Window<BookDTO> result = bookService.getBooksAfter("Dune,3", 5, "name", "asc", null);
+
+        assertEquals(List.of(bookDTO), result.getContent());
+    }
+
+    @Test
+    void getBooksAfter_WithKeyword_ScrollsWithinMatches() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "id");
+        when(bookSearchIndex.search("Java")).thenReturn(Set.of(1L, 2L));
+        when(bookRepository.findAllByIdIn(Set.of(1L, 2L), ScrollPosition.keyset(), sort, Limit.of(5)))
+                .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset()));
+
+        Window<BookDTO> result = bookService.getBooksAfter("", 5, "id", "desc", "Java");
+
+        assertTrue(result.isEmpty());
+        verify(bookRepository, never()).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void getBooksAfter_NonSelectiveKeyword_WalksSortOrder() {
+        Set<Long> ids = LongStream.rangeClosed(1, BookSearchIndex.MAX_SELECTIVE_MATCHES + 1)
+                .boxed()
+                .collect(Collectors.toSet());
+        Book first = new Book();
+        first.setId(7L);
+        first.setName("Emma");
+        Book second = new Book();
+        second.setId(3L);
+        second.setName("Faust");
+        when(bookSearchIndex.search("e")).thenReturn(ids);
+        when(bookSortOrder.after(Sort.by(Sort.Direction.ASC, "name"), 5L, 3, ids))
+                .thenReturn(Optional.of(List.of(7L, 3L, 9L)));
+        when(bookRepository.findAllById(List.of(7L, 3L))).thenReturn(List.of(second, first));
+        when(bookMapper.toDto(any(Book.class))).thenReturn(new BookDTO());
+
+        Window<BookDTO> result = bookService.getBooksAfter("Dune,5", 2, "name", "asc", "e");
+
+        assertEquals(2, result.size());
+        assertTrue(result.hasNext());
+        assertEquals(ScrollPosition.forward(Map.of("name", "Faust", "id", 3L)), result.positionAt(1));
+        verify(bookRepository, never())
+                .findByNameContainingIgnoreCaseOrAuthorContainingIgnoreCaseOrGenreContainingIgnoreCase(
+                        any(), any(), any(), any(), any(), any());
+    }
+}
@@ -148,4 +148,35 @@ class CartServiceImplTest {
 
         assertEquals(new BigDecimal("35.00"), total);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updatePrices_ShouldReplaceCachedPrices() {
+        BookDTO b1 = new BookDTO();
+        b1.setPrice(new BigDecimal("10.00"));
+        itemsMap.put("B1", 2);
+        cacheMap.put("B1", b1);
+
+        cartService.updatePrices(Map.of("B1", new BigDecimal("12.00"), "Gone", BigDecimal.ONE));
+
+        assertEquals(new BigDecimal("24.00"), cartService.getTotalPrice());
+        assertFalse(cacheMap.containsKey("Gone"));
+        // the shared DTO from the book cache is left as it was
+        assertEquals(new BigDecimal("10.00"), b1.getPrice());
+    }
+
+    @Test
+    void restoreItems_ShouldAddBackToCart() {
+        BookDTO b1 = new BookDTO();
+        b1.setName("B1");
+        BookDTO b2 = new BookDTO();
+        b2.setName("B2");
+        itemsMap.put("B1", 1);
+        cacheMap.put("B1", b1);
+
+        cartService.restoreItems(Map.of(b1, 2, b2, 1));
+
+        assertEquals(3, itemsMap.get("B1"));
+        assertEquals(1, itemsMap.get("B2"));
+        assertSame(b2, cacheMap.get("B2"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.model.Client;
+import com.epam.rd.autocode.spring.project.repo.ClientRepository;
+import com.epam.rd.autocode.spring.project.support.ConcurrencyHarness;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:topup;LOCK_TIMEOUT=10000")
+class ClientServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int CALLS = 50;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void parallelTopUps_OnOneAccount_AreAllApplied() throws Exception {
+        String email = "hot@topup.com";
+        clientRepository.save(new Client(null, email, "hash", "Hot Account", BigDecimal.ZERO));
+
+        ConcurrencyHarness.Result result = ConcurrencyHarness.run(THREADS, CALLS, () -> {
+            clientService.topUpBalance(email, new BigDecimal("0.25"));
+            return null;
+        });
+
+        assertEquals(THREADS * CALLS, result.succeeded());
+        assertTrue(result.failures().isEmpty(), result.failures()::toString);
+        BigDecimal expected = new BigDecimal("0.25").multiply(BigDecimal.valueOf(THREADS * CALLS));
+        assertEquals(0, expected.compareTo(clientRepository.findByEmail(email).orElseThrow().getBalance()));
+    }
+}
@@ -1,8 +1,11 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.cache.BlockedClientCache;
+import com.epam.rd.autocode.spring.project.cache.CountCache;
 import com.epam.rd.autocode.spring.project.dto.ClientDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.mapper.ClientMapper;
 import com.epam.rd.autocode.spring.project.model.Client;
 import com.epam.rd.autocode.spring.project.repo.ClientRepository;
 import com.epam.rd.autocode.spring.project.repo.EmployeeRepository;
@@ -11,14 +14,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -37,7 +40,13 @@ class ClientServiceImplTest {
     private EmployeeRepository employeeRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ClientMapper clientMapper;
+
+    @Mock
+    private BlockedClientCache blockedClientCache;
+
+    @Spy
+    private CountCache countCache = new CountCache(Duration.ofMinutes(1));
 
     @InjectMocks
     private ClientServiceImpl clientService;
@@ -49,10 +58,9 @@ class ClientServiceImplTest {
         String sortField = "email";
         String sortDir = "asc";
         Client client = new Client();
-        Page<Client> clientPage = new PageImpl<>(List.of(client));
 
-        when(clientRepository.findAll(any(PageRequest.class))).thenReturn(clientPage);
-        when(modelMapper.map(client, ClientDTO.class)).thenReturn(new ClientDTO());
+        when(clientRepository.findAllBy(any(PageRequest.class))).thenReturn(List.of(client));
+        when(clientMapper.toDto(client)).thenReturn(new ClientDTO());
 
         Page<ClientDTO> result = clientService.getAllClients(page, size, sortField, sortDir);
 
@@ -67,11 +75,11 @@ class ClientServiceImplTest {
         String sortField = "status";
         String sortDir = "desc";
 
-        when(clientRepository.findAll(any(PageRequest.class))).thenReturn(new PageImpl<>(List.of()));
+        when(clientRepository.findAllBy(any(PageRequest.class))).thenReturn(List.of());
 
         clientService.getAllClients(page, size, sortField, sortDir);
 
-        verify(clientRepository).findAll(argThat((org.springframework.data.domain.Pageable pageable) ->
+        verify(clientRepository).findAllBy(argThat((org.springframework.data.domain.Pageable pageable) ->
                 pageable.getSort().getOrderFor("isBlocked") != null &&
                         Objects.requireNonNull(pageable.getSort().getOrderFor("isBlocked")).getDirection() == Sort.Direction.DESC
         ));
@@ -82,7 +90,7 @@ class ClientServiceImplTest {
         String email = "test@email.com";
         Client client = new Client();
         when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
-        when(modelMapper.map(client, ClientDTO.class)).thenReturn(new ClientDTO());
+        when(clientMapper.toDto(client)).thenReturn(new ClientDTO());
 
         ClientDTO result = clientService.getClientByEmail(email);
 
@@ -104,10 +112,9 @@ class ClientServiceImplTest {
         Client client = new Client();
 
         when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
-        doNothing().when(modelMapper).map(any(ClientDTO.class), any(Client.class));
 
         when(clientRepository.save(client)).thenReturn(client);
-        when(modelMapper.map(client, ClientDTO.class)).thenReturn(dto);
+        when(clientMapper.toDto(client)).thenReturn(dto);
 
         ClientDTO result = clientService.updateClientByEmail(email, dto);
 
@@ -122,6 +129,7 @@ class ClientServiceImplTest {
         clientService.deleteClientByEmail(email);
 
         verify(clientRepository).deleteByEmail(email);
+        verify(blockedClientCache).unblock(email);
     }
 
     @Test
@@ -140,9 +148,9 @@ class ClientServiceImplTest {
 
         when(clientRepository.existsByEmail(dto.getEmail())).thenReturn(false);
         when(employeeRepository.existsByEmail(dto.getEmail())).thenReturn(false);
-        when(modelMapper.map(dto, Client.class)).thenReturn(client);
+        when(clientMapper.toEntity(dto)).thenReturn(client);
         when(clientRepository.save(client)).thenReturn(client);
-        when(modelMapper.map(client, ClientDTO.class)).thenReturn(dto);
+        when(clientMapper.toDto(client)).thenReturn(dto);
 
         ClientDTO result = clientService.addClient(dto);
 
@@ -179,6 +187,7 @@ class ClientServiceImplTest {
 
         assertTrue(client.isBlocked());
         verify(clientRepository).save(client);
+        verify(blockedClientCache).block(email);
     }
 
     @Test
@@ -192,14 +201,21 @@ class ClientServiceImplTest {
 
         assertFalse(client.isBlocked());
         verify(clientRepository).save(client);
+        verify(blockedClientCache).unblock(email);
     }
 
     @Test
-    void getBlockedEmails_ReturnsList() {
-        Client c1 = new Client(); c1.setEmail("a@a.com"); c1.setBlocked(true);
-        Client c2 = new Client(); c2.setEmail("b@b.com"); c2.setBlocked(false);
+    void isClientBlocked_ReadsCache() {
+        when(blockedClientCache.isBlocked("bad@user.com")).thenReturn(true);
 
-        when(clientRepository.findAll()).thenReturn(List.of(c1, c2));
+        assertTrue(clientService.isClientBlocked("bad@user.com"));
+        assertFalse(clientService.isClientBlocked("good@user.com"));
+        verifyNoInteractions(clientRepository);
+    }
+
+    @Test
+    void getBlockedEmails_ReturnsList() {
+        when(clientRepository.findBlockedEmails()).thenReturn(List.of("a@a.com"));
 
         List<String> result = clientService.getBlockedEmails();
 
@@ -210,17 +226,21 @@ class ClientServiceImplTest {
     @Test
     void topUpBalance_Success() {
         String email = "rich@user.com";
-        BigDecimal current = new BigDecimal("100");
         BigDecimal add = new BigDecimal("50");
-        Client client = new Client();
-        client.setBalance(current);
 
-        when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
+        when(clientRepository.credit(email, add)).thenReturn(1);
 
         clientService.topUpBalance(email, add);
 
-        assertEquals(new BigDecimal("150"), client.getBalance());
-        verify(clientRepository).save(client);
+        verify(clientRepository).credit(email, add);
+        verify(clientRepository, never()).save(any());
+    }
+
+    @Test
+    void topUpBalance_UnknownClient_ThrowsException() {
+        when(clientRepository.credit("ghost@user.com", BigDecimal.TEN)).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> clientService.topUpBalance("ghost@user.com", BigDecimal.TEN));
     }
 
     @Test
@@ -1,8 +1,11 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.cache.CountCache;
+import com.epam.rd.autocode.spring.project.converter.PasswordConverter;
 import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.mapper.EmployeeMapper;
 import com.epam.rd.autocode.spring.project.model.Employee;
 import com.epam.rd.autocode.spring.project.repo.ClientRepository;
 import com.epam.rd.autocode.spring.project.repo.EmployeeRepository;
@@ -11,13 +14,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,7 +39,13 @@ class EmployeeServiceImplTest {
     private ClientRepository clientRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private PasswordConverter passwordConverter;
+
+    @Spy
+    private CountCache countCache = new CountCache(Duration.ofMinutes(1));
 
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -45,10 +54,9 @@ class EmployeeServiceImplTest {
     void getAllEmployees_ReturnsPage() {
         Pageable pageable = PageRequest.of(0, 10);
         Employee employee = new Employee();
-        Page<Employee> page = new PageImpl<>(List.of(employee));
 
-        when(employeeRepository.findAll(pageable)).thenReturn(page);
-        when(modelMapper.map(employee, EmployeeDTO.class)).thenReturn(new EmployeeDTO());
+        when(employeeRepository.findAllBy(pageable)).thenReturn(List.of(employee));
+        when(employeeMapper.toDto(employee)).thenReturn(new EmployeeDTO());
 
         Page<EmployeeDTO> result = employeeService.getAllEmployees(pageable);
 
@@ -60,7 +68,7 @@ class EmployeeServiceImplTest {
         String email = "emp@test.com";
         Employee employee = new Employee();
         when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(employee));
-        when(modelMapper.map(employee, EmployeeDTO.class)).thenReturn(new EmployeeDTO());
+        when(employeeMapper.toDto(employee)).thenReturn(new EmployeeDTO());
 
         EmployeeDTO result = employeeService.getEmployeeByEmail(email);
 
@@ -79,13 +87,11 @@ class EmployeeServiceImplTest {
         EmployeeDTO dto = new EmployeeDTO();
         dto.setPassword("newPass");
         Employee employee = new Employee();
-        Employee mappedEmployee = new Employee();
-        mappedEmployee.setPassword("encodedPass");
 
         when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(employee));
-        when(modelMapper.map(dto, Employee.class)).thenReturn(mappedEmployee);
+        when(passwordConverter.convert("newPass")).thenReturn("encodedPass");
         when(employeeRepository.save(employee)).thenReturn(employee);
-        when(modelMapper.map(employee, EmployeeDTO.class)).thenReturn(dto);
+        when(employeeMapper.toDto(employee)).thenReturn(dto);
 
         employeeService.updateEmployeeByEmail(email, dto);
 
@@ -103,7 +109,7 @@ class EmployeeServiceImplTest {
 
         when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(employee));
         when(employeeRepository.save(employee)).thenReturn(employee);
-        when(modelMapper.map(employee, EmployeeDTO.class)).thenReturn(dto);
+        when(employeeMapper.toDto(employee)).thenReturn(dto);
 
         employeeService.updateEmployeeByEmail(email, dto);
 
@@ -128,9 +134,9 @@ class EmployeeServiceImplTest {
 
         when(employeeRepository.existsByEmail(dto.getEmail())).thenReturn(false);
         when(clientRepository.existsByEmail(dto.getEmail())).thenReturn(false);
-        when(modelMapper.map(dto, Employee.class)).thenReturn(employee);
+        when(employeeMapper.toEntity(dto)).thenReturn(employee);
         when(employeeRepository.save(employee)).thenReturn(employee);
-        when(modelMapper.map(employee, EmployeeDTO.class)).thenReturn(dto);
+        when(employeeMapper.toDto(employee)).thenReturn(dto);
 
         EmployeeDTO result = employeeService.addEmployee(dto);
 
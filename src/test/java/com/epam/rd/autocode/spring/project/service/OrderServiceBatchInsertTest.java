@@ -0,0 +1,74 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.Client;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.repo.ClientRepository;
+import com.epam.rd.autocode.spring.project.repo.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batching",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderServiceBatchInsertTest {
+    private static final int LINES = 40;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void addOrder_InsertsLinesInOneBatch() {
+        String email = "batch@checkout.com";
+        clientRepository.save(new Client(null, email, "hash", "Batch Buyer", new BigDecimal("1000.00")));
+        List<Book> books = bookRepository.findAll();
+        List<BookItemDTO> items = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < LINES; i++) {
+            Book book = books.get(i % books.size());
+            items.add(new BookItemDTO(book.getName(), 1));
+            total = total.add(book.getPrice());
+        }
+        OrderDTO order = new OrderDTO();
+        order.setClientEmail(email);
+        order.setPrice(total);
+        order.setBookItems(items);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        orderService.addOrder(order);
+
+        assertEquals(LINES + 1, statistics.getEntityInsertCount());
+        // client, books, debit, order, one batch of lines, plus at most a pair of sequence calls per table
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 9, "Expected batched inserts but prepared " + statements + " statements");
+        assertEquals(LINES, orderRepository.findAllByClientEmail(email).get(0).getBookItems().size());
+    }
+}
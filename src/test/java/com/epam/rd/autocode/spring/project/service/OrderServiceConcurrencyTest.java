@@ -0,0 +1,123 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
+import com.epam.rd.autocode.spring.project.model.Client;
+import com.epam.rd.autocode.spring.project.repo.ClientRepository;
+import com.epam.rd.autocode.spring.project.repo.OrderRepository;
+import com.epam.rd.autocode.spring.project.support.ConcurrencyHarness;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:checkout;LOCK_TIMEOUT=10000")
+class OrderServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final String BOOK = "The Hidden Treasure";
+    private static final BigDecimal BOOK_PRICE = new BigDecimal("24.99");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void parallelCheckouts_NeverOverdraw() throws Exception {
+        String email = "hot@checkout.com";
+        int affordable = 4;
+        BigDecimal rest = new BigDecimal("10.00");
+        clientRepository.save(new Client(null, email, "hash", "Hot Account",
+                BOOK_PRICE.multiply(BigDecimal.valueOf(affordable)).add(rest)));
+
+        ConcurrencyHarness.Result result = ConcurrencyHarness.run(THREADS, 1, () -> orderService.addOrder(order(email)));
+
+        assertEquals(affordable, result.succeeded());
+        assertEquals(Map.of(InsufficientFundsException.class, THREADS - affordable), result.failures());
+        assertEquals(0, rest.compareTo(balance(email)));
+        assertEquals(affordable, orderRepository.findAllByClientEmail(email).size());
+    }
+
+    @Test
+    void checkoutsAndTopUps_OnOneAccount_KeepEveryUpdate() throws Exception {
+        String email = "busy@checkout.com";
+        int calls = 10;
+        // Enough to cover every checkout even if all of them run before any top-up
+        BigDecimal start = BOOK_PRICE.multiply(BigDecimal.valueOf(THREADS * calls));
+        clientRepository.save(new Client(null, email, "hash", "Busy Account", start));
+        AtomicInteger sequence = new AtomicInteger();
+
+        ConcurrencyHarness.Result result = ConcurrencyHarness.run(THREADS, calls, () -> {
+            if (sequence.incrementAndGet() % 2 == 0) {
+                return orderService.addOrder(order(email));
+            }
+            clientService.topUpBalance(email, BigDecimal.ONE);
+            return null;
+        });
+
+        assertEquals(THREADS * calls, result.succeeded(), result.failures()::toString);
+        int orders = orderRepository.findAllByClientEmail(email).size();
+        int topUps = THREADS * calls - orders;
+        BigDecimal expected = start.add(BigDecimal.valueOf(topUps)).subtract(BOOK_PRICE.multiply(BigDecimal.valueOf(orders)));
+        assertEquals(0, expected.compareTo(balance(email)));
+    }
+
+    @Test
+    void parallelClaims_HandOutDisjointBatches() throws Exception {
+        String email = "queue@checkout.com";
+        int orders = 40;
+        clientRepository.save(new Client(null, email, "hash", "Queue Filler", BOOK_PRICE.multiply(BigDecimal.valueOf(orders))));
+        for (int i = 0; i < orders; i++) {
+            orderService.addOrder(order(email));
+        }
+        long pending = orderRepository.countByEmployeeIsNull();
+        List<String> employees = List.of("john.doe@email.com", "jane.smith@email.com",
+                "bob.jones@email.com", "alice.white@email.com");
+        AtomicInteger sequence = new AtomicInteger();
+        List<Long> claimed = new CopyOnWriteArrayList<>();
+
+        ConcurrencyHarness.Result result = ConcurrencyHarness.run(employees.size(), 10, () -> {
+            String employee = employees.get(sequence.incrementAndGet() % employees.size());
+            orderService.claimPendingOrders(employee, 3).forEach(order -> claimed.add(order.getId()));
+            return null;
+        });
+
+        assertEquals(employees.size() * 10, result.succeeded(), result.failures()::toString);
+        // H2 applies the LIMIT before skipping locked rows, so contended claims may come back short
+        List<OrderDTO> rest;
+        while (!(rest = orderService.claimPendingOrders(employees.get(0), 3)).isEmpty()) {
+            rest.forEach(order -> claimed.add(order.getId()));
+        }
+        assertEquals(pending, claimed.size());
+        assertEquals(pending, Set.copyOf(claimed).size());
+        assertEquals(0, orderRepository.countByEmployeeIsNull());
+    }
+
+    private BigDecimal balance(String email) {
+        return clientRepository.findByEmail(email).orElseThrow().getBalance();
+    }
+
+    private static OrderDTO order(String email) {
+        OrderDTO order = new OrderDTO();
+        order.setClientEmail(email);
+        order.setPrice(BOOK_PRICE);
+        order.setBookItems(List.of(new BookItemDTO(BOOK, 1)));
+        return order;
+    }
+}
@@ -0,0 +1,73 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.BookItem;
+import com.epam.rd.autocode.spring.project.model.Client;
+import com.epam.rd.autocode.spring.project.model.Order;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test transaction keeps one persistence context open for the whole export, as open-session-in-view does
+ * for the export request.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export")
+@Transactional
+class OrderServiceExportTest {
+    private static final int ORDERS = 500;
+    // one window of orders and their single lines, plus the client and the book
+    private static final int WINDOW_ENTITIES = 2 * 200 + 2;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void streamOrdersByClient_ReleasesEachWindow() {
+        String email = "export@history.com";
+        Client client = new Client(null, email, "hash", "Exporter", BigDecimal.ZERO);
+        entityManager.persist(client);
+        Book book = bookRepository.findAll().get(0);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setClient(client);
+            order.setOrderDate(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+            order.setPrice(book.getPrice());
+            order.getBookItems().add(new BookItem(null, 1, book, order));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Session session = entityManager.unwrap(Session.class);
+        AtomicInteger managed = new AtomicInteger();
+        try (Stream<OrderDTO> orders = orderService.streamOrdersByClient(email)) {
+            long exported = orders
+                    .peek(order -> managed.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max))
+                    .count();
+            assertEquals(ORDERS, exported);
+        }
+
+        assertTrue(managed.get() <= WINDOW_ENTITIES,
+                "Persistence context held " + managed.get() + " entities during the export");
+    }
+}
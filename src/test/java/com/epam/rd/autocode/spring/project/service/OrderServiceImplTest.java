@@ -1,10 +1,13 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.cache.CountCache;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
 import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
 import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.exception.PriceMismatchException;
+import com.epam.rd.autocode.spring.project.mapper.OrderMapper;
 import com.epam.rd.autocode.spring.project.model.Book;
 import com.epam.rd.autocode.spring.project.model.Client;
 import com.epam.rd.autocode.spring.project.model.Employee;
@@ -14,21 +17,24 @@ import com.epam.rd.autocode.spring.project.repo.ClientRepository;
 import com.epam.rd.autocode.spring.project.repo.EmployeeRepository;
 import com.epam.rd.autocode.spring.project.repo.OrderRepository;
 import com.epam.rd.autocode.spring.project.service.impl.OrderServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -46,7 +52,12 @@ class OrderServiceImplTest {
     @Mock
     private BookRepository bookRepository;
     @Mock
-    private ModelMapper modelMapper;
+    private OrderMapper orderMapper;
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private CountCache countCache = new CountCache(Duration.ofMinutes(1));
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -57,11 +68,11 @@ class OrderServiceImplTest {
         int size = 5;
         String sortField = "employee";
         String sortDir = "asc";
-        when(orderRepository.findAll(any(PageRequest.class))).thenReturn(new PageImpl<>(List.of()));
+        when(orderRepository.findAllBy(any(PageRequest.class))).thenReturn(List.of());
 
         orderService.getAllOrders(page, size, sortField, sortDir);
 
-        verify(orderRepository).findAll(argThat((Pageable pageable) ->
+        verify(orderRepository).findAllBy(argThat((Pageable pageable) ->
                 pageable.getSort().getOrderFor("employee") != null
         ));
     }
@@ -70,13 +81,84 @@ class OrderServiceImplTest {
     void getOrdersByClient_ReturnsList() {
         String email = "client@test.com";
         when(orderRepository.findAllByClientEmail(email)).thenReturn(List.of(new Order()));
-        when(modelMapper.map(any(), eq(OrderDTO.class))).thenReturn(new OrderDTO());
+        when(orderMapper.toDto(any(Order.class))).thenReturn(new OrderDTO());
 
         List<OrderDTO> result = orderService.getOrdersByClient(email);
 
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getOrdersByClient_Paged_FetchesOnlyPageIds() {
+        String email = "client@test.com";
+        when(orderRepository.findIdsByClientEmail(eq(email), any(Pageable.class))).thenReturn(List.of(5L, 4L));
+        when(orderRepository.findAllByIdIn(eq(List.of(5L, 4L)), any(Sort.class))).thenReturn(List.of(new Order(), new Order()));
+        when(orderRepository.countByClientEmail(email)).thenReturn(12L);
+        when(orderMapper.toDto(any(Order.class))).thenReturn(new OrderDTO());
+
+        Page<OrderDTO> result = orderService.getOrdersByClient(email, 1, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertEquals(12, result.getTotalElements());
+        verify(orderRepository).findIdsByClientEmail(eq(email), argThat((Pageable pageable) ->
+                pageable.getPageNumber() == 1 && pageable.getPageSize() == 2));
+    }
+
+    @Test
+    void getOrdersByClient_EmptyPage_SkipsFetch() {
+        when(orderRepository.findIdsByClientEmail(eq("client@test.com"), any(Pageable.class))).thenReturn(List.of());
+
+        Page<OrderDTO> result = orderService.getOrdersByClient("client@test.com", 0, 10);
+
+        assertTrue(result.isEmpty());
+        verify(orderRepository, never()).findAllByIdIn(any(), any());
+    }
+
+    @Test
+    void getOrdersByClientBefore_ReturnsWindowWithNextPosition() {
+        String email = "client@test.com";
+        LocalDateTime date = LocalDateTime.of(2024, 1, 10, 0, 0);
+        when(orderRepository.findOrderDateById(10L)).thenReturn(Optional.of(date));
+        when(orderRepository.findIdsByClientEmailBefore(email, date, 10L, Limit.of(3))).thenReturn(List.of(9L, 8L, 7L));
+        when(orderRepository.findAllByIdIn(eq(List.of(9L, 8L)), any(Sort.class))).thenReturn(List.of(new Order(), new Order()));
+        when(orderMapper.toDto(any(Order.class))).thenReturn(orderWithId(9L), orderWithId(8L));
+
+        Window<OrderDTO> window = orderService.getOrdersByClientBefore(email, 10L, 2);
+
+        assertEquals(2, window.size());
+        assertTrue(window.hasNext());
+        assertEquals(ScrollPosition.forward(Map.of("id", 8L)), window.positionAt(1));
+    }
+
+    @Test
+    void streamOrdersByClient_WalksAllChunks() {
+        String email = "client@test.com";
+        List<Long> firstChunk = LongStream.rangeClosed(2, 202).boxed().sorted(Collections.reverseOrder()).toList();
+        LocalDateTime date = LocalDateTime.of(2024, 1, 3, 0, 0);
+        when(orderRepository.findIdsByClientEmail(eq(email), any(Pageable.class))).thenReturn(firstChunk);
+        when(orderRepository.findOrderDateById(3L)).thenReturn(Optional.of(date));
+        when(orderRepository.findIdsByClientEmailBefore(eq(email), eq(date), eq(3L), any(Limit.class))).thenReturn(List.of(2L, 1L));
+        when(orderRepository.findAllByIdIn(anyList(), any(Sort.class))).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).stream().map(id -> {
+                    Order order = new Order();
+                    order.setId((Long) id);
+                    return order;
+                }).toList());
+        when(orderMapper.toDto(any(Order.class))).thenAnswer(invocation ->
+                orderWithId(invocation.<Order>getArgument(0).getId()));
+
+        try (var orders = orderService.streamOrdersByClient(email)) {
+            assertEquals(202, orders.count());
+        }
+        verify(entityManager, times(2)).clear();
+    }
+
+    private static OrderDTO orderWithId(Long id) {
+        OrderDTO dto = new OrderDTO();
+        dto.setId(id);
+        return dto;
+    }
+
     @Test
     void addOrder_Success() {
         String email = "client@test.com";
@@ -98,20 +180,22 @@ class OrderServiceImplTest {
 
         Book book = new Book();
         book.setName(bookName);
+        book.setPrice(price);
 
         Order savedOrder = new Order();
         savedOrder.setId(1L);
 
         when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
         when(bookRepository.findByNameIn(anySet())).thenReturn(List.of(book));
+        when(clientRepository.debit(client.getId(), price)).thenReturn(1);
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        when(modelMapper.map(savedOrder, OrderDTO.class)).thenReturn(orderDTO);
+        when(orderMapper.toDto(savedOrder)).thenReturn(orderDTO);
 
         OrderDTO result = orderService.addOrder(orderDTO);
 
         assertNotNull(result);
-        assertEquals(BigDecimal.valueOf(100), client.getBalance());
-        verify(clientRepository).save(client);
+        verify(clientRepository).debit(client.getId(), price);
+        verify(clientRepository, never()).save(any());
     }
 
     @Test
@@ -120,13 +204,68 @@ class OrderServiceImplTest {
         OrderDTO orderDTO = new OrderDTO();
         orderDTO.setClientEmail(email);
         orderDTO.setPrice(BigDecimal.valueOf(100));
+        orderDTO.setBookItems(List.of(new BookItemDTO("Java Book", 2)));
 
         Client client = new Client();
         client.setBalance(BigDecimal.valueOf(50));
 
+        Book book = new Book();
+        book.setName("Java Book");
+        book.setPrice(BigDecimal.valueOf(50));
+
         when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
+        when(bookRepository.findByNameIn(anySet())).thenReturn(List.of(book));
+        when(clientRepository.debit(client.getId(), BigDecimal.valueOf(100))).thenReturn(0);
 
         assertThrows(InsufficientFundsException.class, () -> orderService.addOrder(orderDTO));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void addOrder_StalePrice_ThrowsWithCurrentPrices() {
+        String email = "client@test.com";
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setClientEmail(email);
+        orderDTO.setPrice(new BigDecimal("20.00"));
+        orderDTO.setBookItems(List.of(new BookItemDTO("Java Book", 2)));
+
+        Book book = new Book();
+        book.setName("Java Book");
+        book.setPrice(new BigDecimal("12.50"));
+
+        when(clientRepository.findByEmail(email)).thenReturn(Optional.of(new Client()));
+        when(bookRepository.findByNameIn(anySet())).thenReturn(List.of(book));
+
+        PriceMismatchException e = assertThrows(PriceMismatchException.class, () -> orderService.addOrder(orderDTO));
+
+        assertEquals(Map.of("Java Book", new BigDecimal("12.50")), e.getCurrentPrices());
+        verify(clientRepository, never()).debit(any(), any());
+        verify(orderRepository, never()).save(any());
+        verify(bookRepository, times(1)).findByNameIn(anySet());
+    }
+
+    @Test
+    void addOrder_SameTotalDifferentScale_IsAccepted() {
+        String email = "client@test.com";
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setClientEmail(email);
+        orderDTO.setPrice(new BigDecimal("25"));
+        orderDTO.setBookItems(List.of(new BookItemDTO("Java Book", 2)));
+
+        Client client = new Client();
+        client.setId(7L);
+        Book book = new Book();
+        book.setName("Java Book");
+        book.setPrice(new BigDecimal("12.50"));
+
+        when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
+        when(bookRepository.findByNameIn(anySet())).thenReturn(List.of(book));
+        when(clientRepository.debit(7L, new BigDecimal("25.00"))).thenReturn(1);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.addOrder(orderDTO);
+
+        verify(orderRepository).save(argThat(order -> new BigDecimal("25.00").equals(order.getPrice())));
     }
 
     @Test
@@ -149,34 +288,119 @@ class OrderServiceImplTest {
         assertThrows(NotFoundException.class, () -> orderService.addOrder(orderDTO));
     }
 
+    @Test
+    void confirmOrders_ResolvesEmployeeOnceAndUpdatesInChunks() {
+        Employee employee = new Employee();
+        List<Long> ids = LongStream.rangeClosed(1, 2_500).boxed().toList();
+        when(employeeRepository.findByEmail("emp@test.com")).thenReturn(Optional.of(employee));
+        when(orderRepository.assignEmployee(eq(employee), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(1).size());
+
+        int confirmed = orderService.confirmOrders(ids, "emp@test.com");
+
+        assertEquals(2_500, confirmed);
+        verify(employeeRepository, times(1)).findByEmail("emp@test.com");
+        verify(orderRepository, times(3)).assignEmployee(eq(employee), anyCollection());
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void confirmOrders_NoIds_SkipsQueries() {
+        assertEquals(0, orderService.confirmOrders(List.of(), "emp@test.com"));
+
+        verifyNoInteractions(employeeRepository, orderRepository);
+    }
+
+    @Test
+    void confirmUnassignedOrders_WithoutDate_UsesNow() {
+        Employee employee = new Employee();
+        when(employeeRepository.findByEmail("emp@test.com")).thenReturn(Optional.of(employee));
+        when(orderRepository.assignEmployeeToUnassignedBefore(eq(employee), any())).thenReturn(5);
+
+        assertEquals(5, orderService.confirmUnassignedOrders(null, "emp@test.com"));
+        verify(orderRepository).assignEmployeeToUnassignedBefore(eq(employee),
+                argThat(before -> !before.isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    void confirmOrders_UnknownEmployee_ThrowsException() {
+        when(employeeRepository.findByEmail("ghost@test.com")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> orderService.confirmOrders(List.of(1L), "ghost@test.com"));
+        verify(orderRepository, never()).assignEmployee(any(), any());
+    }
+
     @Test
     void confirmOrder_Success() {
         Long orderId = 1L;
         String email = "emp@test.com";
-        Order order = new Order();
         Employee employee = new Employee();
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
         when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(employee));
+        when(orderRepository.assignEmployee(employee, List.of(orderId))).thenReturn(1);
 
-        orderService.confirmOrder(orderId, email);
-
-        assertEquals(employee, order.getEmployee());
-        verify(orderRepository).save(order);
+        assertTrue(orderService.confirmOrder(orderId, email));
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
-    void confirmOrder_AlreadyConfirmed_DoNothing() {
+    void confirmOrder_AlreadyConfirmed_ReturnsFalse() {
         Long orderId = 1L;
         String email = "emp@test.com";
+        Employee employee = new Employee();
+
+        when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(employee));
+        when(orderRepository.assignEmployee(employee, List.of(orderId))).thenReturn(0);
+        when(orderRepository.existsById(orderId)).thenReturn(true);
+
+        assertFalse(orderService.confirmOrder(orderId, email));
+    }
+
+    @Test
+    void confirmOrder_UnknownOrder_ThrowsException() {
+        Employee employee = new Employee();
+        when(employeeRepository.findByEmail("emp@test.com")).thenReturn(Optional.of(employee));
+        when(orderRepository.assignEmployee(employee, List.of(99L))).thenReturn(0);
+        when(orderRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> orderService.confirmOrder(99L, "emp@test.com"));
+    }
+
+    @Test
+    void getPendingOrders_PagesOldestFirst() {
         Order order = new Order();
-        order.setEmployee(new Employee());
+        when(orderRepository.findUnassignedIds(any(Pageable.class))).thenReturn(List.of(4L));
+        when(orderRepository.findAllByIdIn(eq(List.of(4L)), any(Sort.class))).thenReturn(List.of(order));
+        when(orderMapper.toDto(any(Order.class))).thenReturn(new OrderDTO());
+
+        Page<OrderDTO> page = orderService.getPendingOrders(0, 20);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        assertEquals(1, page.getContent().size());
+        verify(orderRepository).findUnassignedIds(PageRequest.of(0, 20, Sort.by("orderDate", "id")));
+        verify(orderRepository).findAllByIdIn(List.of(4L), Sort.by("orderDate", "id"));
+    }
 
-        orderService.confirmOrder(orderId, email);
+    @Test
+    void claimPendingOrders_AssignsLockedBatch() {
+        Employee employee = new Employee();
+        List<Long> ids = List.of(3L, 5L);
+        when(employeeRepository.findByEmail("emp@test.com")).thenReturn(Optional.of(employee));
+        when(orderRepository.lockUnassignedIds(2)).thenReturn(ids);
+        when(orderRepository.assignEmployee(employee, ids)).thenReturn(2);
+        when(orderRepository.findAllByIdIn(eq(ids), any(Sort.class))).thenReturn(List.of(new Order(), new Order()));
+        when(orderMapper.toDto(any(Order.class))).thenReturn(new OrderDTO());
+
+        assertEquals(2, orderService.claimPendingOrders("emp@test.com", 2).size());
+        verify(orderRepository).assignEmployee(employee, ids);
+    }
+
+    @Test
+    void claimPendingOrders_NothingPending_ReturnsEmpty() {
+        when(employeeRepository.findByEmail("emp@test.com")).thenReturn(Optional.of(new Employee()));
+        when(orderRepository.lockUnassignedIds(10)).thenReturn(List.of());
 
-        verify(orderRepository, never()).save(order);
+        assertTrue(orderService.claimPendingOrders("emp@test.com", 10).isEmpty());
+        verify(orderRepository, never()).assignEmployee(any(), any());
     }
 
     @Test
@@ -191,11 +415,13 @@ class OrderServiceImplTest {
         client.setBalance(new BigDecimal("100"));
         Book book = new Book();
         book.setName("Book");
+        book.setPrice(total);
 
         when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
         when(bookRepository.findByNameIn(anySet())).thenReturn(List.of(book));
+        when(clientRepository.debit(client.getId(), total)).thenReturn(1);
         when(orderRepository.save(any(Order.class))).thenReturn(new Order());
-        when(modelMapper.map(any(), eq(OrderDTO.class))).thenReturn(new OrderDTO());
+        when(orderMapper.toDto(any(Order.class))).thenReturn(new OrderDTO());
 
         OrderDTO result = orderService.createOrder(email, cart, total);
 
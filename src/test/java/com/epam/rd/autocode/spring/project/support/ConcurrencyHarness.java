@@ -0,0 +1,67 @@
+package com.epam.rd.autocode.spring.project.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a task from many threads released at the same instant and tallies the outcomes,
+ * for tests that hammer one hot row.
+ */
+public final class ConcurrencyHarness {
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private ConcurrencyHarness() {
+    }
+
+    public static Result run(int threads, int callsPerThread, Callable<?> task) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        Map<Class<?>, AtomicInteger> failures = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>(threads);
+        long began;
+        try {
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int call = 0; call < callsPerThread; call++) {
+                        try {
+                            task.call();
+                            succeeded.incrementAndGet();
+                        } catch (Exception e) {
+                            failures.computeIfAbsent(e.getClass(), type -> new AtomicInteger()).incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            began = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<Class<?>, Integer> failed = new ConcurrentHashMap<>();
+        failures.forEach((type, count) -> failed.put(type, count.get()));
+        return new Result(succeeded.get(), failed, Duration.ofNanos(System.nanoTime() - began));
+    }
+
+    public record Result(int succeeded, Map<Class<?>, Integer> failures, Duration elapsed) {
+
+        public int failed(Class<? extends Exception> type) {
+            return failures.getOrDefault(type, 0);
+        }
+
+        public double callsPerSecond() {
+            int calls = succeeded + failures.values().stream().mapToInt(Integer::intValue).sum();
+            return calls * 1e9 / Math.max(1, elapsed.toNanos());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.rd.autocode.spring.project.util;
+
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCursorTest {
+
+    @Test
+    void decode_Blank_ReturnsInitialPosition() {
+        assertTrue(BookCursor.decode("", "name").isInitial());
+        assertTrue(BookCursor.decode(null, "name").isInitial());
+    }
+
+    @Test
+    void decode_TypedSortKey() {
+        KeysetScrollPosition price = (KeysetScrollPosition) BookCursor.decode("24.99,7", "price");
+        KeysetScrollPosition date = (KeysetScrollPosition) BookCursor.decode("2018-05-15,3", "publicationDate");
+
+        assertEquals(Map.of("price", new BigDecimal("24.99"), "id", 7L), price.getKeys());
+        assertEquals(Map.of("publicationDate", LocalDate.of(2018, 5, 15), "id", 3L), date.getKeys());
+    }
+
+    @Test
+    void decode_NameContainingComma_SplitsOnLastComma() {
+        KeysetScrollPosition position = (KeysetScrollPosition) BookCursor.decode("Love, Actually,12", "name");
+
+        assertEquals(Map.of("name", "Love, Actually", "id", 12L), position.getKeys());
+    }
+
+    @Test
+    void decode_SortById_UsesIdOnly() {
+        KeysetScrollPosition position = (KeysetScrollPosition) BookCursor.decode("5,5", "id");
+
+        assertEquals(Map.of("id", 5L), position.getKeys());
+    }
+
+    @Test
+    void decode_Malformed_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> BookCursor.decode("no-separator", "name"));
+        assertThrows(IllegalArgumentException.class, () -> BookCursor.decode("abc,x", "name"));
+        assertThrows(IllegalArgumentException.class, () -> BookCursor.decode("abc,1", "price"));
+        assertThrows(IllegalArgumentException.class, () -> BookCursor.decode("abc,1", "unknown"));
+        assertThrows(IllegalArgumentException.class, () -> BookCursor.decode("KLINGON,1", "language"));
+    }
+
+    @Test
+    void enumSortKey_RoundTrips() {
+        ScrollPosition position = ScrollPosition.forward(Map.of("language", Language.GERMAN, "id", 9L));
+
+        String cursor = BookCursor.encode(position, "language");
+
+        assertEquals("GERMAN,9", cursor);
+        assertEquals(Map.of("language", Language.GERMAN, "id", 9L),
+                ((KeysetScrollPosition) BookCursor.decode(cursor, "language")).getKeys());
+    }
+
+    @Test
+    void supports_OnlyBookFieldsACursorCanHold() {
+        assertTrue(BookCursor.supports("publicationDate"));
+        assertTrue(BookCursor.supports("ageGroup"));
+        assertFalse(BookCursor.supports("unknown"));
+        assertThrows(IllegalArgumentException.class,
+                () -> BookCursor.encode(ScrollPosition.forward(Map.of("unknown", 1, "id", 1L)), "unknown"));
+    }
+
+    @Test
+    void encode_RoundTrips() {
+        ScrollPosition position = ScrollPosition.forward(Map.of("price", new BigDecimal("1E+1"), "id", 4L));
+
+        String cursor = BookCursor.encode(position, "price");
+
+        assertEquals("10,4", cursor);
+        assertEquals(Map.of("price", new BigDecimal("10"), "id", 4L),
+                ((KeysetScrollPosition) BookCursor.decode(cursor, "price")).getKeys());
+    }
+}
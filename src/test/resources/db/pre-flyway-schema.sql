@@ -0,0 +1,65 @@
+-- Schema of databases created by Hibernate (ddl-auto=update) before Flyway managed it
+
+create table book_items (
+    quantity integer not null,
+    book_id bigint not null,
+    id bigint generated by default as identity,
+    order_id bigint not null,
+    primary key (id)
+);
+
+create table books (
+    number_of_pages integer not null,
+    price numeric(38,2) not null,
+    publication_year date not null,
+    id bigint generated by default as identity,
+    description varchar(1000),
+    age_group varchar(255) check (age_group in ('CHILD','TEEN','ADULT','OTHER')),
+    author varchar(255) not null,
+    characteristics varchar(255),
+    genre varchar(255) not null,
+    language varchar(255) check (language in ('ENGLISH','GERMAN','FRENCH','SPANISH','JAPANESE','UKRAINIAN','OTHER')),
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table clients (
+    balance numeric(38,2) not null,
+    is_blocked boolean not null,
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+);
+
+create table employees (
+    birth_date date not null,
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    phone varchar(255) not null,
+    primary key (id)
+);
+
+create table orders (
+    price numeric(38,2) not null,
+    client_id bigint not null,
+    employee_id bigint,
+    id bigint generated by default as identity,
+    order_date timestamp(6) not null,
+    primary key (id)
+);
+
+alter table if exists book_items add constraint FKpe3ct8txpojojbixpksxisrhn foreign key (book_id) references books;
+alter table if exists book_items add constraint FKeorvreypa17vdi41jwu1v0xn6 foreign key (order_id) references orders;
+alter table if exists orders add constraint FKm2dep9derpoaehshbkkatam3v foreign key (client_id) references clients;
+alter table if exists orders add constraint FKfhl8bv0xn3sj33q2f3scf1bq6 foreign key (employee_id) references employees;
+
+insert into clients (balance, is_blocked, email, name, password) values (100.00, false, 'old@client.com', 'Old', 'hash');
+insert into clients (balance, is_blocked, email, name, password) values (50.00, true, 'blocked@client.com', 'Blocked', 'hash');
+insert into employees (birth_date, email, name, password, phone) values (DATE '1990-01-01', 'old@staff.com', 'Staff', 'hash', '555-000-0000');
+insert into books (number_of_pages, price, publication_year, author, genre, name) values (100, 10.00, DATE '2020-01-01', 'Author', 'Genre', 'Old Book');
+insert into orders (price, client_id, employee_id, order_date) values (10.00, 1, 1, TIMESTAMP '2024-01-01 10:00:00');
+insert into book_items (quantity, book_id, order_id) values (1, 1, 1);